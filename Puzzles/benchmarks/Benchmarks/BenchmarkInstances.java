@@ -0,0 +1,16 @@
+package Benchmarks;
+
+import Puzzles.Puzzle;
+import Puzzles.PuzzleGenerator;
+
+final class BenchmarkInstances {
+    static final long SEED = 20240501L;
+
+    private BenchmarkInstances() {
+    }
+
+    static Puzzle scrambled(int size, int moves, long seed) {
+        // Reproducible random walk from the solved board that never undoes its previous move
+        return new PuzzleGenerator(seed).randomWalk(size, moves, 0);
+    }
+}
@@ -0,0 +1,61 @@
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import Algorithms.HeuristicAlgorithms.*;
+import Puzzles.Puzzle;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicBenchmark {
+    @Param({ "3", "4", "5" })
+    public int size;
+
+    @Param({ "Zero", "Manhattan", "Inversions", "LinearConflict", "WalkingDistance" })
+    public String heuristicName;
+
+    private PuzzleHeuristic heuristic;
+    private Puzzle puzzle;
+
+    @Setup
+    public void setUp() {
+        puzzle = BenchmarkInstances.scrambled(size, 100, BenchmarkInstances.SEED);
+        switch (heuristicName) {
+            case "Zero":
+                heuristic = new ZeroHeuristic();
+                break;
+            case "Manhattan":
+                heuristic = new ManhattanDistanceHeuristic();
+                break;
+            case "Inversions":
+                heuristic = new InversionsHeuristic();
+                break;
+            case "LinearConflict":
+                heuristic = new LinearConflictHeuristic();
+                break;
+            case "WalkingDistance":
+                heuristic = new WalkingDistanceHeuristic();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown heuristic: " + heuristicName);
+        }
+    }
+
+    @Benchmark
+    public double calculate() {
+        // Served from the heuristic's cache after the first call
+        return heuristic.calculate(puzzle);
+    }
+
+    @Benchmark
+    public double estimate() {
+        // Full evaluation of the board, bypassing the cache
+        return heuristic.estimate(puzzle);
+    }
+}
@@ -0,0 +1,54 @@
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import Puzzles.Puzzle;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PuzzleBenchmark {
+    @Param({ "3", "4", "5" })
+    public int size;
+
+    private Puzzle puzzle;
+    private Puzzle equalPuzzle;
+
+    @Setup
+    public void setUp() {
+        puzzle = BenchmarkInstances.scrambled(size, 100, BenchmarkInstances.SEED);
+        equalPuzzle = new Puzzle(puzzle);
+    }
+
+    @Benchmark
+    public Object generatePossibleMoves() {
+        return puzzle.generatePossibleMoves();
+    }
+
+    @Benchmark
+    public long applyAndUndoMoves() {
+        // In-place successor enumeration, as the solvers do it
+        long keys = 0;
+        for (int move : puzzle.getLegalMoves()) {
+            puzzle.applyMove(move);
+            keys += puzzle.getPackedLow();
+            puzzle.undoMove(move);
+        }
+        return keys;
+    }
+
+    @Benchmark
+    public int hashCodeOfBoard() {
+        return puzzle.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOfBoards() {
+        return puzzle.equals(equalPuzzle);
+    }
+}
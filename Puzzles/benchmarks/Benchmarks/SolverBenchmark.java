@@ -0,0 +1,62 @@
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import Algorithms.AlgorithmicPuzzleSolver.AlgorithmicPuzzleSolver;
+import Algorithms.HeuristicAlgorithms.ManhattanDistanceHeuristic;
+import Puzzles.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    // Scramble lengths keep every size solvable by BFS within a benchmark iteration
+    @Param({ "EightPuzzle", "FifteenPuzzle", "TwentyFourPuzzle" })
+    public String puzzleType;
+
+    @Param({ "12" })
+    public int breadthFirstMoves;
+
+    @Param({ "40" })
+    public int aStarMoves;
+
+    private final AlgorithmicPuzzleSolver solver = new AlgorithmicPuzzleSolver();
+    private final ManhattanDistanceHeuristic heuristic = new ManhattanDistanceHeuristic();
+    private Puzzle breadthFirstPuzzle;
+    private Puzzle aStarPuzzle;
+
+    @Setup
+    public void setUp() {
+        int size;
+        switch (puzzleType) {
+            case "EightPuzzle":
+                size = 3;
+                break;
+            case "FifteenPuzzle":
+                size = 4;
+                break;
+            case "TwentyFourPuzzle":
+                size = 5;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown puzzle type: " + puzzleType);
+        }
+        breadthFirstPuzzle = BenchmarkInstances.scrambled(size, breadthFirstMoves, BenchmarkInstances.SEED);
+        aStarPuzzle = BenchmarkInstances.scrambled(size, aStarMoves, BenchmarkInstances.SEED);
+    }
+
+    @Benchmark
+    public SolutionOutput breadthFirstSearch() {
+        return solver.breadthFirstSearch(breadthFirstPuzzle);
+    }
+
+    @Benchmark
+    public SolutionOutput aStarSearchManhattan() {
+        return solver.AStarSearch(aStarPuzzle, heuristic);
+    }
+}
@@ -0,0 +1,65 @@
+package Checks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import Algorithms.AlgorithmicPuzzleSolver.AlgorithmicPuzzleSolver;
+import Algorithms.AlgorithmicPuzzleSolver.SolutionStore;
+import Algorithms.HeuristicAlgorithms.PuzzleHeuristic;
+import Puzzles.Puzzle;
+import Puzzles.PuzzleGenerator;
+
+public final class SolutionStoreCheck {
+    // A store holding more boards than the smallest index has slots must reopen without its index file, with
+    // every solution still found
+    private static final long MIN_BOARDS = 10_000; // Well past the 4096 slots an index starts with
+
+    private SolutionStoreCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("solution-store");
+        try {
+            PuzzleGenerator generator = new PuzzleGenerator(1);
+            List<Puzzle> puzzles = new ArrayList<>();
+            long stored;
+            try (SolutionStore store = new SolutionStore(directory)) {
+                AlgorithmicPuzzleSolver solver = new AlgorithmicPuzzleSolver(store);
+                for (long index = 0; store.size() < MIN_BOARDS; index++) {
+                    Puzzle puzzle = generator.uniformPuzzle(3, index);
+                    solver.AStarSearch(puzzle, PuzzleHeuristic.Linear_Conflict);
+                    puzzles.add(puzzle);
+                }
+                stored = store.size();
+            }
+            Files.delete(directory.resolve("solutions.idx"));
+
+            try (SolutionStore store = new SolutionStore(directory)) {
+                int found = 0;
+                for (Puzzle puzzle : puzzles) {
+                    if (store.lookup(puzzle) != null) {
+                        found++;
+                    }
+                }
+                System.out.println(store.size() + " of " + stored + " boards after rebuilding the index, " + found
+                        + " of " + puzzles.size() + " solutions found");
+                if (store.size() != stored || found != puzzles.size()) {
+                    throw new AssertionError("Solution store lost boards when its index was rebuilt");
+                }
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package Puzzles;
+
+import java.util.SplittableRandom;
+
+public final class PuzzleGeneratorCheck {
+    // Neighbouring indexes must get independent random sequences: no index's sequence may be another's shifted
+    // by a draw, and the first draws of adjacent indexes must be uncorrelated. In the same package as the
+    // generator so it can read the per-index generators directly
+    private static final int INDEXES = 10_000;
+    private static final long[] SEEDS = { 0, 1, 20240501L };
+
+    private PuzzleGeneratorCheck() {
+    }
+
+    public static void main(String[] args) {
+        for (long seed : SEEDS) {
+            PuzzleGenerator generator = new PuzzleGenerator(seed);
+            double[] firstDraws = new double[INDEXES];
+            int shifted = 0;
+            long previousSecondDraw = 0;
+            for (int index = 0; index < INDEXES; index++) {
+                SplittableRandom random = generator.randomFor(index);
+                long firstDraw = random.nextLong();
+                if (index > 0 && firstDraw == previousSecondDraw) {
+                    shifted++;
+                }
+                previousSecondDraw = random.nextLong();
+                firstDraws[index] = (firstDraw >>> 11) * 0x1.0p-53; // Uniform in [0, 1)
+            }
+            double correlation = adjacentCorrelation(firstDraws);
+            System.out.printf("Seed %d: %d shifted sequences, adjacent first-draw correlation %.4f%n", seed, shifted,
+                    correlation);
+            // Four standard errors of the correlation of independent samples
+            if (shifted > 0 || Math.abs(correlation) > 4 / Math.sqrt(INDEXES)) {
+                throw new AssertionError("Adjacent indexes of seed " + seed + " share their random draws");
+            }
+        }
+    }
+
+    private static double adjacentCorrelation(double[] values) {
+        // Pearson correlation between each value and the next one
+        int pairs = values.length - 1;
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0, sumYY = 0;
+        for (int i = 0; i < pairs; i++) {
+            double x = values[i];
+            double y = values[i + 1];
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+            sumYY += y * y;
+        }
+        double covariance = sumXY - sumX * sumY / pairs;
+        return covariance / Math.sqrt((sumXX - sumX * sumX / pairs) * (sumYY - sumY * sumY / pairs));
+    }
+}
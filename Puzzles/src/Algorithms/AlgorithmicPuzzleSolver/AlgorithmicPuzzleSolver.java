@@ -2,109 +2,438 @@ package Algorithms.AlgorithmicPuzzleSolver;
 
 import Graph.*;
 import Puzzles.Puzzle;
-import Puzzles.Puzzle.PuzzleMovePair;
+import Puzzles.SearchStatistics;
 import Puzzles.SolutionOutput;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import Algorithms.HeuristicAlgorithms.*;
 
 public class AlgorithmicPuzzleSolver {
-    private Graph graph;
-    private Map<Integer, Puzzle> states; // Vertex ID to Puzzle
+    private static final double FOUND = -1; // IDA* signal that the goal was reached
+    // Searches keep all their state in locals, so one solver can serve several threads
+    private final boolean recordGraph; // Diagnostic mode: also build the explored Graph
+    private final SolutionStore solutionStore; // Null unless solutions are kept between calls
 
     public AlgorithmicPuzzleSolver() {
-        this.graph = new Graph();
-        this.states = new HashMap<>();
+        this(false);
+    }
+
+    public AlgorithmicPuzzleSolver(boolean recordGraph) {
+        this(recordGraph, null);
+    }
+
+    public AlgorithmicPuzzleSolver(SolutionStore solutionStore) {
+        this(false, solutionStore);
+    }
+
+    public AlgorithmicPuzzleSolver(boolean recordGraph, SolutionStore solutionStore) {
+        // With a store, boards it already holds are answered by lookup, and every optimal solution found is added
+        this.recordGraph = recordGraph;
+        this.solutionStore = solutionStore;
     }
 
     public SolutionOutput breadthFirstSearch(Puzzle puzzle) {
+        SolutionOutput stored = storedSolution(puzzle);
+        if (stored != null) {
+            return stored;
+        }
         long startTime = System.nanoTime();
-        Queue<Integer> queue = new LinkedList<>(); // vertex id
-        Set<Puzzle> visited = new HashSet<>();
-    
-        int startId = graph.createAndAddVertex();
-        states.put(startId, puzzle);
-    
-        graph.findVertexById(startId).setPredecessor(null);
-        queue.offer(startId);
+        SearchNodeStore nodes = new SearchNodeStore(puzzle);
+        Graph graph = recordGraph ? new Graph() : null;
+        OffHeapClosedSet visited = new OffHeapClosedSet(puzzle);
+        SearchStatistics statistics = new SearchStatistics("BFS");
+
+        recordVertex(graph, nodes, nodes.add(puzzle, -1, 0, 0, -1));
         visited.add(puzzle);
-    
-        while (!queue.isEmpty()) {
-            int currentId = queue.poll();
-            Puzzle currentPuzzle = states.get(currentId);
-    
+
+        // Nodes are added in FIFO order, so the queue is just a cursor over node indexes
+        for (int currentId = 0; currentId < nodes.size(); currentId++) {
+            Puzzle currentPuzzle = nodes.getState(currentId);
+            statistics.openListSize(nodes.size() - currentId);
+
             if (currentPuzzle.isBoardSolved()) {
-                SolutionOutput solution = new SolutionOutput(graph, startTime, currentId, states);
-                clear();
-                return solution;
+                return finish(statistics, remember(new SolutionOutput(startTime, puzzle, nodes.getMovesTo(currentId),
+                        nodes.size(), graph, statistics), true));
+            }
+
+            // Children are visited in place on the current board; the move back to the parent is skipped
+            checkInterrupted();
+            statistics.nodeExpanded();
+            int previousMove = nodes.getMove(currentId);
+            for (int move : currentPuzzle.getLegalMoves()) {
+                if (move == Puzzle.oppositeMove(previousMove)) {
+                    continue;
+                }
+                statistics.nodeGenerated();
+                currentPuzzle.applyMove(move);
+                if (visited.add(currentPuzzle)) {
+                    int nextId = nodes.add(currentPuzzle, currentId, nodes.getGScore(currentId) + 1, 0, move);
+                    recordVertex(graph, nodes, nextId);
+                } else {
+                    statistics.duplicateFound();
+                }
+                currentPuzzle.undoMove(move);
             }
-    
-            List<PuzzleMovePair> nextStates = currentPuzzle.generatePossibleMoves();
-            for (PuzzleMovePair nextPuzzleMove : nextStates) {
-                Puzzle nextPuzzle = nextPuzzleMove.puzzle;
-                if (!visited.contains(nextPuzzle)) {
-                    int nextId = graph.createAndAddVertex();
-                    graph.connectVertices(currentId, nextId);
-                    graph.findVertexById(nextId).setPredecessor(graph.findVertexById(currentId));
-                    states.put(nextId, nextPuzzle);
-                    visited.add(nextPuzzle);
-                    queue.offer(nextId);
+            statistics.closedSetSize(visited.size());
+        }
+        return finish(statistics, null);
+    }
+
+    public SolutionOutput bidirectionalBreadthFirstSearch(Puzzle puzzle) {
+        SolutionOutput stored = storedSolution(puzzle);
+        if (stored != null) {
+            return stored;
+        }
+        long startTime = System.nanoTime();
+        Puzzle goal = new Puzzle(puzzle.size(), 0);
+        SearchNodeStore forward = new SearchNodeStore(puzzle);
+        SearchNodeStore backward = new SearchNodeStore(goal);
+        OffHeapClosedSet forwardIds = new OffHeapClosedSet(puzzle);
+        OffHeapClosedSet backwardIds = new OffHeapClosedSet(goal);
+        forwardIds.put(puzzle, forward.add(puzzle, -1, 0, 0, -1));
+        backwardIds.put(goal, backward.add(goal, -1, 0, 0, -1));
+        SearchStatistics statistics = new SearchStatistics("Bidirectional BFS");
+        if (puzzle.isBoardSolved()) {
+            return finish(statistics, new SolutionOutput(startTime, puzzle, new LinkedList<>(), 1, null, statistics));
+        }
+
+        // Each store holds its side's nodes in BFS order; the frontier is the last layer added
+        int forwardLayerStart = 0;
+        int backwardLayerStart = 0;
+        while (forwardLayerStart < forward.size() && backwardLayerStart < backward.size()) {
+            // Always grow the side with the smaller frontier by one full layer
+            boolean expandForward = forward.size() - forwardLayerStart <= backward.size() - backwardLayerStart;
+            SearchNodeStore nodes = expandForward ? forward : backward;
+            SearchNodeStore otherNodes = expandForward ? backward : forward;
+            OffHeapClosedSet ids = expandForward ? forwardIds : backwardIds;
+            OffHeapClosedSet otherIds = expandForward ? backwardIds : forwardIds;
+            int layerStart = expandForward ? forwardLayerStart : backwardLayerStart;
+            int layerEnd = nodes.size();
+            statistics.openListSize(forward.size() - forwardLayerStart + backward.size() - backwardLayerStart);
+
+            // Finish the whole layer so the shortest of all meeting points is kept
+            int bestLength = Integer.MAX_VALUE;
+            int bestId = -1;
+            int bestOtherId = -1;
+            for (int currentId = layerStart; currentId < layerEnd; currentId++) {
+                Puzzle currentPuzzle = nodes.getState(currentId);
+                int previousMove = nodes.getMove(currentId);
+                checkInterrupted();
+                statistics.nodeExpanded();
+                for (int move : currentPuzzle.getLegalMoves()) {
+                    if (move == Puzzle.oppositeMove(previousMove)) {
+                        continue;
+                    }
+                    statistics.nodeGenerated();
+                    currentPuzzle.applyMove(move);
+                    if (ids.contains(currentPuzzle)) {
+                        statistics.duplicateFound();
+                    } else {
+                        int gScore = nodes.getGScore(currentId) + 1;
+                        int nextId = nodes.add(currentPuzzle, currentId, gScore, 0, move);
+                        ids.put(currentPuzzle, nextId);
+                        int otherId = otherIds.get(currentPuzzle);
+                        if (otherId != OffHeapClosedSet.MISSING
+                                && gScore + otherNodes.getGScore(otherId) < bestLength) {
+                            bestLength = gScore + otherNodes.getGScore(otherId);
+                            bestId = nextId;
+                            bestOtherId = otherId;
+                        }
+                    }
+                    currentPuzzle.undoMove(move);
+                }
+            }
+            statistics.closedSetSize(forwardIds.size() + backwardIds.size());
+
+            if (bestId != -1) {
+                int forwardId = expandForward ? bestId : bestOtherId;
+                int backwardId = expandForward ? bestOtherId : bestId;
+                // The backward half is walked from the meeting point to the goal by undoing its moves
+                LinkedList<Integer> moves = forward.getMovesTo(forwardId);
+                int meetingIndex = moves.size();
+                for (int move : backward.getMovesTo(backwardId)) {
+                    moves.add(meetingIndex, Puzzle.oppositeMove(move));
                 }
+                return finish(statistics, remember(new SolutionOutput(startTime, puzzle, moves,
+                        forward.size() + backward.size(), null, statistics), true));
+            }
+            if (expandForward) {
+                forwardLayerStart = layerEnd;
+            } else {
+                backwardLayerStart = layerEnd;
             }
         }
-        return null;
+        return finish(statistics, null);
     }
+
     public SolutionOutput AStarSearch(Puzzle puzzle, PuzzleHeuristic heuristic) {
+        // Integer f-values fit the O(1) bucket list, anything else needs the binary heap
+        OpenList openList = heuristic.isIntegerValued() ? new BucketOpenList() : new BinaryHeapOpenList();
+        return AStarSearch(puzzle, heuristic, openList);
+    }
+
+    public SolutionOutput AStarSearch(Puzzle puzzle, PuzzleHeuristic heuristic, OpenList openList) {
+        SolutionOutput stored = storedSolution(puzzle);
+        if (stored != null) {
+            return stored;
+        }
         long startTime = System.nanoTime();
-        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>(
-                Comparator.comparingDouble(id -> graph.findVertexById(id).getTotalCost()));
-        Set<Puzzle> visited = new HashSet<>();
-    
-        int startId = graph.createAndAddVertex();
-        Vertex startVertex = graph.findVertexById(startId);
-    
-        startVertex.setPredecessor(null);
-        startVertex.setDistance(0);
-        startVertex.setHeuristicValue(heuristic.calculate(puzzle));
-        states.put(startId, puzzle);
-        priorityQueue.offer(startId);
-        visited.add(puzzle);
-    
-        while (!priorityQueue.isEmpty()) {
-            int currentId = priorityQueue.poll();
-            Vertex currentVertex = graph.findVertexById(currentId);
-            Puzzle currentPuzzle = states.get(currentId);
-    
+        SearchNodeStore nodes = new SearchNodeStore(puzzle);
+        Graph graph = recordGraph ? new Graph() : null;
+        OffHeapClosedSet bestGScores = new OffHeapClosedSet(puzzle);
+        SearchStatistics statistics = new SearchStatistics("A* (" + heuristic.getClass().getSimpleName() + ")");
+
+        int startId = nodes.add(puzzle, -1, 0, heuristic.calculate(puzzle), -1);
+        recordVertex(graph, nodes, startId);
+        openList.push(startId, nodes.getTotalCost(startId), 0);
+        bestGScores.put(puzzle, 0);
+
+        while (!openList.isEmpty()) {
+            int currentId = openList.pop();
+            Puzzle currentPuzzle = nodes.getState(currentId);
+            int currentGScore = nodes.getGScore(currentId);
+
+            // Skip entries superseded by a cheaper path to the same board
+            if (currentGScore > bestGScores.get(currentPuzzle)) {
+                continue;
+            }
+
             if (currentPuzzle.isBoardSolved()) {
-                SolutionOutput solution = new SolutionOutput(graph, startTime, currentId, states);
-                clear();
-                return solution;
+                return finish(statistics, remember(new SolutionOutput(startTime, puzzle, nodes.getMovesTo(currentId),
+                        nodes.size(), graph, statistics), heuristic.isAdmissible()));
             }
-    
-            List<PuzzleMovePair> nextStates = currentPuzzle.generatePossibleMoves();
-            for (PuzzleMovePair nextPuzzleMove : nextStates) {
-                Puzzle nextPuzzle = nextPuzzleMove.puzzle;
-                if (!visited.contains(nextPuzzle)) {
-                    int nextId = graph.createAndAddVertex();
-                    Vertex nextVertex = graph.findVertexById(nextId);
-                    graph.connectVertices(currentVertex.ID, nextVertex.ID);
-                    nextVertex.setPredecessor(currentVertex);
-                    int gScore = currentVertex.getDistance() + 1; // Assume cost of 1 per move
-                    nextVertex.setDistance(gScore);
-                    nextVertex.setHeuristicValue(heuristic.calculate(nextPuzzle));
-                    states.put(nextId, nextPuzzle);
-                    visited.add(nextPuzzle);
-                    priorityQueue.offer(nextId);
+
+            checkInterrupted();
+            statistics.nodeExpanded();
+            int previousMove = nodes.getMove(currentId);
+            for (int move : currentPuzzle.getLegalMoves()) {
+                if (move == Puzzle.oppositeMove(previousMove)) {
+                    continue;
+                }
+                statistics.nodeGenerated();
+                int movedTile = currentPuzzle.applyMove(move);
+                int gScore = currentGScore + 1; // Assume cost of 1 per move
+                int knownGScore = bestGScores.get(currentPuzzle);
+                if (knownGScore == OffHeapClosedSet.MISSING || gScore < knownGScore) {
+                    long heuristicStart = statistics.startHeuristicTimer();
+                    double hScore = heuristic.update(currentPuzzle, nodes.getHScore(currentId), move, movedTile);
+                    statistics.stopHeuristicTimer(heuristicStart);
+                    int nextId = nodes.add(currentPuzzle, currentId, gScore, hScore, move);
+                    recordVertex(graph, nodes, nextId);
+                    bestGScores.put(currentPuzzle, gScore);
+                    openList.push(nextId, gScore + hScore, gScore);
+                } else {
+                    statistics.duplicateFound();
                 }
+                currentPuzzle.undoMove(move);
+            }
+            statistics.openListSize(openList.size());
+            statistics.closedSetSize(bestGScores.size());
+        }
+        return finish(statistics, null);
+    }
+
+    public SolutionOutput parallelAStarSearch(Puzzle puzzle, PuzzleHeuristic heuristic) {
+        return parallelAStarSearch(puzzle, heuristic, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SolutionOutput parallelAStarSearch(Puzzle puzzle, PuzzleHeuristic heuristic, int threads) {
+        // One hard instance spread over several cores; the explored graph is not recorded in this mode
+        SolutionOutput stored = storedSolution(puzzle);
+        if (stored != null) {
+            return stored;
+        }
+        return remember(new HashDistributedAStar(threads).solve(puzzle, heuristic), heuristic.isAdmissible());
+    }
+
+    public SolutionOutput anytimeAStarSearch(Puzzle puzzle, PuzzleHeuristic heuristic, Duration timeBudget) {
+        // Best solution found within the time budget; the weight starts at 3 and drops by 0.5 per round
+        SolutionOutput stored = storedSolution(puzzle);
+        if (stored != null) {
+            return stored;
+        }
+        AnytimeSolution solution = new AnytimeAStar(3, 0.5).solve(puzzle, heuristic, timeBudget, Long.MAX_VALUE,
+                null);
+        if (solution == null) {
+            return null;
+        }
+        return remember(solution.getSolution(), solution.isOptimal() && heuristic.isAdmissible());
+    }
+
+    public SolutionOutput breadthFirstHeuristicSearch(Puzzle puzzle, PuzzleHeuristic heuristic) {
+        // Memory grows with the widest layer instead of every board seen, at the cost of searching again to
+        // recover the path
+        SolutionOutput stored = storedSolution(puzzle);
+        if (stored != null) {
+            return stored;
+        }
+        return remember(new BreadthFirstHeuristicSearch().solve(puzzle, heuristic), heuristic.isAdmissible());
+    }
+
+    public SolutionOutput constructiveSearch(Puzzle puzzle) {
+        // Polynomial time on any board size, but the solution is not optimal (a stored one is)
+        SolutionOutput stored = storedSolution(puzzle);
+        return stored != null ? stored : new ConstructiveSolver().solve(puzzle);
+    }
+
+    private SolutionOutput storedSolution(Puzzle puzzle) {
+        // The stored optimal solution for the board, or null to search
+        if (solutionStore == null) {
+            return null;
+        }
+        long startTime = System.nanoTime();
+        byte[] moves = solutionStore.lookup(puzzle);
+        if (moves == null) {
+            return null;
+        }
+        List<Integer> moveList = new ArrayList<>(moves.length);
+        for (byte move : moves) {
+            moveList.add((int) move);
+        }
+        SearchStatistics statistics = new SearchStatistics("Solution store");
+        return finish(statistics, new SolutionOutput(startTime, puzzle, moveList, 0, null, statistics));
+    }
+
+    private SolutionOutput remember(SolutionOutput solution, boolean optimal) {
+        // Only optimal solutions may enter the store, since their suffixes are stored as optimal too
+        if (solutionStore != null && solution != null && optimal) {
+            solutionStore.add(solution.getStart(), solution.getMoves());
+        }
+        return solution;
+    }
+
+    static void checkInterrupted() {
+        // Lets a cancelled caller stop a running search: the thread's interrupt ends it with an exception
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Search interrupted");
+        }
+    }
+
+    private static SolutionOutput finish(SearchStatistics statistics, SolutionOutput solution) {
+        // Report the run to Flight Recorder, also when no solution was found
+        statistics.commitEvent(solution == null ? -1 : solution.getNumOfMovements());
+        return solution;
+    }
+
+    private static void recordVertex(Graph graph, SearchNodeStore nodes, int node) {
+        // Mirror a search node into the diagnostic graph (vertex IDs start at 1)
+        if (graph == null) {
+            return;
+        }
+        Vertex vertex = graph.findVertexById(graph.createAndAddVertex());
+        vertex.setDistance(nodes.getGScore(node));
+        vertex.setHeuristicValue(nodes.getHScore(node));
+        int parent = nodes.getParent(node);
+        if (parent != -1) {
+            graph.connectVertices(parent + 1, vertex.ID);
+            vertex.setPredecessor(graph.findVertexById(parent + 1));
+        }
+    }
+
+    public SolutionOutput iterativeDeepeningAStarSearch(Puzzle puzzle, PuzzleHeuristic heuristic) {
+        SolutionOutput stored = storedSolution(puzzle);
+        if (stored != null) {
+            return stored;
+        }
+        long startTime = System.nanoTime();
+        // A single board is moved and undone in place; memory is bounded by the solution depth
+        Puzzle currentPuzzle = new Puzzle(puzzle);
+        LinkedList<Integer> moves = new LinkedList<>();
+        SearchStatistics statistics = new SearchStatistics("IDA* (" + heuristic.getClass().getSimpleName() + ")");
+
+        double startHeuristic = heuristic.estimate(currentPuzzle);
+        double threshold = startHeuristic;
+        while (true) {
+            double result = depthLimitedSearch(currentPuzzle, 0, startHeuristic, threshold, -1, heuristic, moves,
+                    statistics);
+            if (result == FOUND) {
+                // The start board plus every generated child, as before statistics were collected
+                int generatedStates = (int) Math.min(statistics.getGeneratedNodes() + 1, Integer.MAX_VALUE);
+                return finish(statistics, remember(new SolutionOutput(startTime, puzzle, moves, generatedStates,
+                        null, statistics), heuristic.isAdmissible()));
+            }
+            if (result == Double.POSITIVE_INFINITY) {
+                return finish(statistics, null);
             }
+            // Next iteration uses the smallest f-value that exceeded the current threshold
+            threshold = result;
         }
-        return null;
     }
-        private void clear() {
-        this.graph = new Graph();
-        this.states.clear();
+
+    private double depthLimitedSearch(Puzzle puzzle, int gScore, double hScore, double threshold, int previousMove,
+            PuzzleHeuristic heuristic, LinkedList<Integer> moves, SearchStatistics statistics) {
+        double fScore = gScore + hScore;
+        if (fScore > threshold) {
+            return fScore;
+        }
+        if (puzzle.isBoardSolved()) {
+            return FOUND;
+        }
+        // Memory is the current path, so it is reported as the open list
+        checkInterrupted();
+        statistics.nodeExpanded();
+        statistics.openListSize(gScore + 1);
+
+        double minimum = Double.POSITIVE_INFINITY;
+        for (int move : puzzle.getLegalMoves()) {
+            // Never undo the move that led here
+            if (move == Puzzle.oppositeMove(previousMove)) {
+                continue;
+            }
+            int movedTile = puzzle.applyMove(move);
+            statistics.nodeGenerated();
+            moves.addLast(move);
+            long heuristicStart = statistics.startHeuristicTimer();
+            double childHeuristic = heuristic.update(puzzle, hScore, move, movedTile);
+            statistics.stopHeuristicTimer(heuristicStart);
+            double result = depthLimitedSearch(puzzle, gScore + 1, childHeuristic, threshold, move, heuristic, moves,
+                    statistics);
+            if (result == FOUND) {
+                return FOUND;
+            }
+            moves.removeLast();
+            puzzle.undoMove(move);
+            minimum = Math.min(minimum, result);
+        }
+        return minimum;
+    }
+
+    public static List<SolutionOutput> solveAll(List<? extends Puzzle> puzzles,
+            Function<Puzzle, SolutionOutput> algorithm) {
+        return solveAll(puzzles, algorithm, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static List<SolutionOutput> solveAll(List<? extends Puzzle> puzzles,
+            Function<Puzzle, SolutionOutput> algorithm, int threads) {
+        // Solve independent puzzles concurrently; solutions come back in the order of the puzzles
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SolutionOutput>> futures = new ArrayList<>();
+            for (Puzzle puzzle : puzzles) {
+                futures.add(executor.submit(() -> algorithm.apply(puzzle)));
+            }
+            List<SolutionOutput> solutions = new ArrayList<>();
+            for (Future<SolutionOutput> future : futures) {
+                solutions.add(future.get());
+            }
+            return solutions;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch solve interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch solve failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     public static List<SolutionOutput> AlgorithmSolver(Puzzle puzzle, boolean print, TimeUnit timeUnit) {
@@ -120,6 +449,14 @@ public class AlgorithmicPuzzleSolver {
             bfsSolution.print(timeUnit);
         }
 
+        // Solve using bidirectional BFS
+        SolutionOutput bidirectionalSolution = algorithmSolution.bidirectionalBreadthFirstSearch(puzzle);
+        solutionsList.add(bidirectionalSolution);
+        if (print) {
+            System.out.println("------------------------------- Bidirectional BFS -------------------------------");
+            bidirectionalSolution.print(timeUnit);
+        }
+
         // Solve using A* with Zero function
         SolutionOutput astarSolutionZeroFunction = algorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Zero_Heuristic);
         solutionsList.add(astarSolutionZeroFunction);
@@ -136,6 +473,30 @@ public class AlgorithmicPuzzleSolver {
             astarSolutionManhattanFunction.print(timeUnit);
         }
 
+        // Solve using A* with linear conflicts
+        SolutionOutput astarSolutionLinearConflict = algorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Linear_Conflict);
+        solutionsList.add(astarSolutionLinearConflict);
+        if (print) {
+            System.out.println("---------------------------  AStar (Linear conflict)  ---------------------------");
+            astarSolutionLinearConflict.print(timeUnit);
+        }
+
+        // Solve using A* with walking distance
+        SolutionOutput astarSolutionWalkingDistance = algorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Walking_Distance);
+        solutionsList.add(astarSolutionWalkingDistance);
+        if (print) {
+            System.out.println("---------------------------  AStar (Walking distance)  --------------------------");
+            astarSolutionWalkingDistance.print(timeUnit);
+        }
+
+        // Solve using A* with the pattern database (built on first use for the board size)
+        SolutionOutput astarSolutionPatternDatabase = algorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Pattern_Database);
+        solutionsList.add(astarSolutionPatternDatabase);
+        if (print) {
+            System.out.println("---------------------------  AStar (Pattern database)  ---------------------------");
+            astarSolutionPatternDatabase.print(timeUnit);
+        }
+
         // Solve using A* with Non-Admissible heursitic
         SolutionOutput astarSolution4 = algorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Permutations_Inversions);
         solutionsList.add(astarSolution4);
@@ -0,0 +1,161 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+
+import Algorithms.HeuristicAlgorithms.PuzzleHeuristic;
+import Puzzles.Puzzle;
+import Puzzles.SearchStatistics;
+import Puzzles.SolutionOutput;
+
+public class AnytimeAStar {
+    // Anytime repairing A* (ARA*): weighted A* with f = g + w * h finds a first solution quickly, then the weight
+    // is lowered step by step down to 1. Each round reuses the previous round's open list instead of starting
+    // over, and boards improved after being expanded wait in an "inconsistent" list until the next round
+    private final double initialWeight;
+    private final double weightStep;
+
+    public AnytimeAStar(double initialWeight, double weightStep) {
+        if (initialWeight < 1 || weightStep <= 0) {
+            throw new IllegalArgumentException("The weight must start at 1 or more and decrease by a positive step");
+        }
+        this.initialWeight = initialWeight;
+        this.weightStep = weightStep;
+    }
+
+    public AnytimeSolution solve(Puzzle puzzle, PuzzleHeuristic heuristic, Duration timeBudget, long nodeBudget,
+            Consumer<AnytimeSolution> listener) {
+        // Stops at the time budget, after nodeBudget expansions, or once the solution is proven optimal. The
+        // listener sees every solution that is shorter or has a tighter bound than the previous one
+        long startTime = System.nanoTime();
+        long timeBudgetNanos = timeBudget.toNanos();
+        SearchStatistics statistics = new SearchStatistics("Anytime A* (" + heuristic.getClass().getSimpleName() + ")");
+        SearchNodeStore nodes = new SearchNodeStore(puzzle);
+        OffHeapClosedSet bestNodes = new OffHeapClosedSet(puzzle); // Board -> node with its best g-score
+        int[] expandedInRound = new int[1024]; // Node -> last round that expanded it, -1 for never
+        Arrays.fill(expandedInRound, -1);
+        List<Integer> inconsistent = new ArrayList<>();
+        BinaryHeapOpenList openList = new BinaryHeapOpenList();
+
+        double weight = initialWeight;
+        int startId = nodes.add(puzzle, -1, 0, heuristic.calculate(puzzle), -1);
+        bestNodes.put(puzzle, startId);
+        openList.push(startId, weight * nodes.getHScore(startId), 0);
+        int goalId = puzzle.isBoardSolved() ? startId : -1;
+        int publishedGoalId = -1;
+        double publishedBound = Double.POSITIVE_INFINITY;
+        AnytimeSolution best = null;
+
+        for (int round = 0; ; round++) {
+            // Expand until no open node can lead to a shorter solution under the current weight
+            boolean outOfBudget = false;
+            while (!openList.isEmpty()) {
+                if (statistics.getExpandedNodes() >= nodeBudget || System.nanoTime() - startTime >= timeBudgetNanos) {
+                    outOfBudget = true;
+                    break;
+                }
+                int currentId = openList.pop();
+                Puzzle currentPuzzle = nodes.getState(currentId);
+                if (bestNodes.get(currentPuzzle) != currentId) {
+                    continue; // Superseded by a cheaper path to the same board
+                }
+                int currentGScore = nodes.getGScore(currentId);
+                double key = currentGScore + weight * nodes.getHScore(currentId);
+                if (goalId != -1 && nodes.getGScore(goalId) <= key) {
+                    openList.push(currentId, key, currentGScore);
+                    break;
+                }
+
+                if (currentId >= expandedInRound.length) {
+                    int oldLength = expandedInRound.length;
+                    expandedInRound = Arrays.copyOf(expandedInRound, Math.max(currentId + 1, oldLength * 2));
+                    Arrays.fill(expandedInRound, oldLength, expandedInRound.length, -1);
+                }
+                expandedInRound[currentId] = round;
+                AlgorithmicPuzzleSolver.checkInterrupted();
+                statistics.nodeExpanded();
+                int previousMove = nodes.getMove(currentId);
+                for (int move : currentPuzzle.getLegalMoves()) {
+                    if (move == Puzzle.oppositeMove(previousMove)) {
+                        continue;
+                    }
+                    statistics.nodeGenerated();
+                    int movedTile = currentPuzzle.applyMove(move);
+                    int gScore = currentGScore + 1;
+                    int knownId = bestNodes.get(currentPuzzle);
+                    if (knownId != OffHeapClosedSet.MISSING && nodes.getGScore(knownId) <= gScore) {
+                        statistics.duplicateFound();
+                    } else {
+                        long heuristicStart = statistics.startHeuristicTimer();
+                        double hScore = heuristic.update(currentPuzzle, nodes.getHScore(currentId), move, movedTile);
+                        statistics.stopHeuristicTimer(heuristicStart);
+                        int nextId = nodes.add(currentPuzzle, currentId, gScore, hScore, move);
+                        bestNodes.put(currentPuzzle, nextId);
+                        if (currentPuzzle.isBoardSolved()) {
+                            goalId = nextId;
+                        }
+                        // A board expanded this round keeps its better path for the next round
+                        boolean expanded = knownId != OffHeapClosedSet.MISSING && knownId < expandedInRound.length
+                                && expandedInRound[knownId] == round;
+                        if (expanded) {
+                            inconsistent.add(nextId);
+                        } else {
+                            openList.push(nextId, gScore + weight * hScore, gScore);
+                        }
+                    }
+                    currentPuzzle.undoMove(move);
+                }
+                statistics.openListSize(openList.size() + inconsistent.size());
+                statistics.closedSetSize(bestNodes.size());
+            }
+
+            // Every board whose g-score may still drop is open or inconsistent, so the smallest g + h among them
+            // bounds the optimal length from below
+            List<Integer> pending = new ArrayList<>(inconsistent);
+            while (!openList.isEmpty()) {
+                pending.add(openList.pop());
+            }
+            inconsistent.clear();
+            double lowerBound = Double.POSITIVE_INFINITY;
+            List<Integer> live = new ArrayList<>();
+            for (int node : pending) {
+                if (bestNodes.get(nodes.getState(node)) == node && (goalId == -1 || node != goalId)) {
+                    live.add(node);
+                    lowerBound = Math.min(lowerBound, nodes.getTotalCost(node));
+                }
+            }
+
+            boolean roundComplete = !outOfBudget;
+            if (goalId != -1) {
+                int length = nodes.getGScore(goalId);
+                double bound = lowerBound >= length ? 1 : length / lowerBound;
+                if (roundComplete) {
+                    bound = Math.min(bound, weight);
+                }
+                if (goalId != publishedGoalId || bound < publishedBound) {
+                    SolutionOutput solution = new SolutionOutput(startTime, puzzle, nodes.getMovesTo(goalId),
+                            nodes.size(), null, statistics);
+                    best = new AnytimeSolution(solution, weight, bound);
+                    publishedGoalId = goalId;
+                    publishedBound = bound;
+                    if (listener != null) {
+                        listener.accept(best);
+                    }
+                }
+            }
+
+            boolean exhausted = live.isEmpty();
+            if (outOfBudget || exhausted || (best != null && best.isOptimal()) || (roundComplete && weight == 1)) {
+                statistics.commitEvent(best == null ? -1 : best.getSolution().getNumOfMovements());
+                return best;
+            }
+
+            // Next round: lower the weight and re-key the open boards, together with the inconsistent ones
+            weight = Math.max(1, weight - weightStep);
+            for (int node : live) {
+                openList.push(node, nodes.getGScore(node) + weight * nodes.getHScore(node), nodes.getGScore(node));
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import Puzzles.SolutionOutput;
+
+public class AnytimeSolution {
+    // A solution found by the anytime search, with the weight it was found at and how far from optimal it can be
+    private final SolutionOutput solution;
+    private final double weight;
+    private final double suboptimalityBound;
+
+    public AnytimeSolution(SolutionOutput solution, double weight, double suboptimalityBound) {
+        this.solution = solution;
+        this.weight = weight;
+        this.suboptimalityBound = suboptimalityBound;
+    }
+
+    public SolutionOutput getSolution() {
+        return solution;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public double getSuboptimalityBound() {
+        // The solution is at most this factor longer than an optimal one (for an admissible heuristic)
+        return suboptimalityBound;
+    }
+
+    public boolean isOptimal() {
+        return suboptimalityBound <= 1;
+    }
+}
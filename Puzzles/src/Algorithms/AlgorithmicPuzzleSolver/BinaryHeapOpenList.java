@@ -0,0 +1,82 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.util.Arrays;
+
+public class BinaryHeapOpenList implements OpenList {
+    // Binary min-heap over parallel primitive arrays, for heuristics with non-integer values
+    private int[] nodes = new int[1024];
+    private double[] totalCosts = new double[1024];
+    private int[] gScores = new int[1024];
+    private int size;
+
+    @Override
+    public void push(int node, double totalCost, int gScore) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            totalCosts = Arrays.copyOf(totalCosts, size * 2);
+            gScores = Arrays.copyOf(gScores, size * 2);
+        }
+        // Sift up
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(totalCost, gScore, totalCosts[parent], gScores[parent])) {
+                break;
+            }
+            set(index, nodes[parent], totalCosts[parent], gScores[parent]);
+            index = parent;
+        }
+        set(index, node, totalCost, gScore);
+    }
+
+    @Override
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Open list is empty");
+        }
+        int top = nodes[0];
+        size--;
+        int node = nodes[size];
+        double totalCost = totalCosts[size];
+        int gScore = gScores[size];
+
+        // Sift the last element down from the root
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(totalCosts[child + 1], gScores[child + 1], totalCosts[child], gScores[child])) {
+                child++;
+            }
+            if (!before(totalCosts[child], gScores[child], totalCost, gScore)) {
+                break;
+            }
+            set(index, nodes[child], totalCosts[child], gScores[child]);
+            index = child;
+        }
+        set(index, node, totalCost, gScore);
+        return top;
+    }
+
+    private static boolean before(double totalCost, int gScore, double otherTotalCost, int otherGScore) {
+        return totalCost < otherTotalCost || (totalCost == otherTotalCost && gScore > otherGScore);
+    }
+
+    private void set(int index, int node, double totalCost, int gScore) {
+        nodes[index] = node;
+        totalCosts[index] = totalCost;
+        gScores[index] = gScore;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
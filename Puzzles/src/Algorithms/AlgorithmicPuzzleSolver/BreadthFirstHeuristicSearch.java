@@ -0,0 +1,202 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.util.*;
+
+import Algorithms.HeuristicAlgorithms.PuzzleHeuristic;
+import Puzzles.Puzzle;
+import Puzzles.SearchStatistics;
+import Puzzles.SolutionOutput;
+
+public class BreadthFirstHeuristicSearch {
+    // Breadth-first iterative-deepening A* (Zhou & Hansen): a layer-by-layer search that prunes boards with
+    // g + h above a bound, raising the bound to the smallest pruned f until the goal is reached. The sliding
+    // puzzle is undirected and bipartite, so a child can only repeat a board of the previous layer or of the
+    // layer being built; only those two layers and the one being expanded are kept, never a closed list.
+    // Without parent pointers, every board carries its ancestor from a middle "relay" layer instead; the path
+    // is rebuilt by divide and conquer, searching again from the start to the relay and from the relay on
+    private static final class Layer {
+        // One layer of boards with the relay each one descends from; the set finds repeats within the layer
+        final OffHeapClosedSet boards;
+        long[] highs = new long[1024];
+        long[] lows = new long[1024];
+        long[] relayHighs = new long[1024];
+        long[] relayLows = new long[1024];
+        double[] hScores = new double[1024];
+        byte[] moves = new byte[1024];
+        int count;
+
+        Layer(Puzzle start) {
+            this.boards = new OffHeapClosedSet(start);
+        }
+
+        void add(Puzzle puzzle, long relayHigh, long relayLow, double hScore, int move) {
+            if (count == highs.length) {
+                int capacity = count * 2;
+                highs = Arrays.copyOf(highs, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                relayHighs = Arrays.copyOf(relayHighs, capacity);
+                relayLows = Arrays.copyOf(relayLows, capacity);
+                hScores = Arrays.copyOf(hScores, capacity);
+                moves = Arrays.copyOf(moves, capacity);
+            }
+            highs[count] = puzzle.getPackedHigh();
+            lows[count] = puzzle.getPackedLow();
+            relayHighs[count] = relayHigh;
+            relayLows[count] = relayLow;
+            hScores[count] = hScore;
+            moves[count] = (byte) move;
+            boards.put(puzzle, count);
+            count++;
+        }
+
+        void clear() {
+            boards.clear();
+            count = 0;
+        }
+    }
+
+    private static final class Segment {
+        // Outcome of one bounded search: the target's depth and relay, or the next bound to try
+        int depth = -1;
+        long relayHigh;
+        long relayLow;
+        double nextBound = Double.POSITIVE_INFINITY;
+    }
+
+    public SolutionOutput solve(Puzzle puzzle, PuzzleHeuristic heuristic) {
+        long startTime = System.nanoTime();
+        if (!puzzle.hasPackedKey()) {
+            throw new IllegalArgumentException("Breadth-first heuristic search needs boards that fit the packed key");
+        }
+        SearchStatistics statistics = new SearchStatistics(
+                "Breadth-first heuristic search (" + heuristic.getClass().getSimpleName() + ")");
+        Puzzle start = new Puzzle(puzzle);
+        Puzzle goal = new Puzzle(puzzle.size(), 0);
+        Layer[] layers = { new Layer(start), new Layer(start), new Layer(start) };
+
+        // Raise the bound until the goal is within it; every board on an optimal path has f <= optimal length
+        double bound = heuristic.estimate(start);
+        Segment result;
+        while (true) {
+            result = search(start, 0, goal, (int) (bound / 2), bound, layers, heuristic, statistics);
+            if (result.depth != -1 || result.nextBound == Double.POSITIVE_INFINITY) {
+                break;
+            }
+            bound = result.nextBound;
+        }
+        if (result.depth == -1) {
+            statistics.commitEvent(-1);
+            return null;
+        }
+        int relayDepth = result.depth / 2;
+        if (relayDepth != (int) (bound / 2)) {
+            // The goal was not as deep as the bound, so the relay came from the wrong layer; search again with the
+            // length known
+            result = search(start, 0, goal, relayDepth, bound, layers, heuristic, statistics);
+        }
+
+        List<Integer> moves = new ArrayList<>();
+        Puzzle relay = Puzzle.fromPackedKey(start.size(), result.relayLow, result.relayHigh);
+        buildPath(start, 0, relay, relayDepth, bound, layers, heuristic, statistics, moves);
+        buildPath(relay, relayDepth, goal, result.depth - relayDepth, bound, layers, heuristic, statistics, moves);
+        SolutionOutput solution = new SolutionOutput(startTime, puzzle, moves,
+                (int) Math.min(statistics.getGeneratedNodes() + 1, Integer.MAX_VALUE), null, statistics);
+        statistics.commitEvent(solution.getNumOfMovements());
+        return solution;
+    }
+
+    private void buildPath(Puzzle from, int gOffset, Puzzle to, int length, double bound, Layer[] layers,
+            PuzzleHeuristic heuristic, SearchStatistics statistics, List<Integer> moves) {
+        // Appends the moves of a shortest path of known length, splitting it at its middle board until the
+        // pieces are single moves
+        if (length == 0) {
+            return;
+        }
+        if (length == 1) {
+            for (int move : from.getLegalMoves()) {
+                Puzzle next = new Puzzle(from);
+                next.applyMove(move);
+                if (next.equals(to)) {
+                    moves.add(move);
+                    return;
+                }
+            }
+            throw new IllegalStateException("The boards of a one-move segment are not neighbours");
+        }
+        int relayDepth = length / 2;
+        Segment segment = search(from, gOffset, to, relayDepth, bound, layers, heuristic, statistics);
+        if (segment.depth != length) {
+            throw new IllegalStateException("Segment of length " + length + " found at depth " + segment.depth);
+        }
+        Puzzle relay = Puzzle.fromPackedKey(from.size(), segment.relayLow, segment.relayHigh);
+        buildPath(from, gOffset, relay, relayDepth, bound, layers, heuristic, statistics, moves);
+        buildPath(relay, gOffset + relayDepth, to, length - relayDepth, bound, layers, heuristic, statistics, moves);
+    }
+
+    private Segment search(Puzzle from, int gOffset, Puzzle target, int relayDepth, double bound, Layer[] layers,
+            PuzzleHeuristic heuristic, SearchStatistics statistics) {
+        // Breadth-first from the board, keeping boards with (gOffset + depth) + h <= bound, until the target
+        // turns up. Boards at relayDepth become the relay of everything below them
+        Segment segment = new Segment();
+        Layer previous = layers[0];
+        Layer current = layers[1];
+        Layer next = layers[2];
+        previous.clear();
+        current.clear();
+        double startHeuristic = heuristic.estimate(from);
+        current.add(from, from.getPackedHigh(), from.getPackedLow(), startHeuristic, -1);
+        if (from.equals(target)) {
+            segment.depth = 0;
+            segment.relayHigh = from.getPackedHigh();
+            segment.relayLow = from.getPackedLow();
+            return segment;
+        }
+
+        for (int depth = 0; current.count > 0; depth++) {
+            next.clear();
+            int gScore = gOffset + depth + 1;
+            boolean childIsRelay = depth + 1 == relayDepth;
+            for (int node = 0; node < current.count; node++) {
+                AlgorithmicPuzzleSolver.checkInterrupted();
+                statistics.nodeExpanded();
+                Puzzle puzzle = Puzzle.fromPackedKey(from.size(), current.lows[node], current.highs[node]);
+                int previousMove = current.moves[node];
+                for (int move : puzzle.getLegalMoves()) {
+                    if (move == Puzzle.oppositeMove(previousMove)) {
+                        continue;
+                    }
+                    statistics.nodeGenerated();
+                    int movedTile = puzzle.applyMove(move);
+                    if (previous.boards.contains(puzzle) || next.boards.contains(puzzle)) {
+                        statistics.duplicateFound();
+                    } else {
+                        long heuristicStart = statistics.startHeuristicTimer();
+                        double hScore = heuristic.update(puzzle, current.hScores[node], move, movedTile);
+                        statistics.stopHeuristicTimer(heuristicStart);
+                        if (gScore + hScore > bound) {
+                            segment.nextBound = Math.min(segment.nextBound, gScore + hScore);
+                        } else {
+                            long relayHigh = childIsRelay ? puzzle.getPackedHigh() : current.relayHighs[node];
+                            long relayLow = childIsRelay ? puzzle.getPackedLow() : current.relayLows[node];
+                            if (puzzle.equals(target)) {
+                                segment.depth = depth + 1;
+                                segment.relayHigh = relayHigh;
+                                segment.relayLow = relayLow;
+                                return segment;
+                            }
+                            next.add(puzzle, relayHigh, relayLow, hScore, move);
+                        }
+                    }
+                    puzzle.undoMove(move);
+                }
+            }
+            statistics.openListSize(next.count);
+            statistics.closedSetSize(previous.count + current.count + next.count);
+            Layer expanded = previous;
+            previous = current;
+            current = next;
+            next = expanded;
+        }
+        return segment;
+    }
+}
@@ -0,0 +1,90 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.util.Arrays;
+
+public class BucketOpenList implements OpenList {
+    // One stack of nodes per (f, g) pair; only valid when every f-value is an integer
+    private IntStack[][] buckets = new IntStack[64][];
+    private int[] bucketSizes = new int[64]; // Nodes stored under each f
+    // Highest g that may still hold nodes under each f. Pop lowers it lazily past emptied stacks, and every
+    // step down undoes a step up made by a push, so finding the deepest stack is O(1) amortised
+    private int[] maxGScores = new int[64];
+    private int minTotalCost = Integer.MAX_VALUE;
+    private int size;
+
+    @Override
+    public void push(int node, double totalCost, int gScore) {
+        int f = (int) totalCost;
+        if (f != totalCost || f < 0) {
+            throw new IllegalArgumentException("Bucket open list needs non-negative integer costs: " + totalCost);
+        }
+        if (f >= buckets.length) {
+            int capacity = Math.max(buckets.length * 2, f + 1);
+            buckets = Arrays.copyOf(buckets, capacity);
+            bucketSizes = Arrays.copyOf(bucketSizes, capacity);
+            maxGScores = Arrays.copyOf(maxGScores, capacity);
+        }
+        if (buckets[f] == null || gScore >= buckets[f].length) {
+            buckets[f] = buckets[f] == null ? new IntStack[Math.max(gScore + 1, 16)]
+                    : Arrays.copyOf(buckets[f], Math.max(buckets[f].length * 2, gScore + 1));
+        }
+        if (buckets[f][gScore] == null) {
+            buckets[f][gScore] = new IntStack();
+        }
+        buckets[f][gScore].push(node);
+        bucketSizes[f]++;
+        maxGScores[f] = Math.max(maxGScores[f], gScore);
+        minTotalCost = Math.min(minTotalCost, f);
+        size++;
+    }
+
+    @Override
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Open list is empty");
+        }
+        while (bucketSizes[minTotalCost] == 0) {
+            minTotalCost++;
+        }
+        // Deepest node first among equal f-values, so the goal is reached with fewer expansions
+        IntStack[] byGScore = buckets[minTotalCost];
+        int g = maxGScores[minTotalCost];
+        while (byGScore[g] == null || byGScore[g].isEmpty()) {
+            g--;
+        }
+        bucketSizes[minTotalCost]--;
+        maxGScores[minTotalCost] = bucketSizes[minTotalCost] == 0 ? 0 : g;
+        size--;
+        return byGScore[g].pop();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static class IntStack {
+        private int[] elements = new int[16];
+        private int size;
+
+        void push(int value) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = value;
+        }
+
+        int pop() {
+            return elements[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.util.*;
+
+import Puzzles.Puzzle;
+import Puzzles.SearchStatistics;
+import Puzzles.SolutionOutput;
+
+public class ConstructiveSolver {
+    // Polynomial-time solver for boards of any size: the top row and then the left column of the unsolved region
+    // are put in place one tile at a time, shrinking the region until a 2x2 block is left, which is solved by
+    // cycling the empty space around it. The solution is valid but usually far from optimal
+
+    // Empty space moves that turn "second tile in the first tile's cell, first tile in the corner, empty space
+    // below the second tile" into the finished pair, using the 3x2 block under the row's last two cells. For
+    // columns the same sequence is transposed (each move XOR 2 swaps up/left and down/right)
+    private static final int[] SWAP_LAST_PAIR = { Puzzle.UP, Puzzle.RIGHT, Puzzle.DOWN, Puzzle.DOWN, Puzzle.LEFT,
+            Puzzle.UP, Puzzle.RIGHT, Puzzle.UP, Puzzle.LEFT, Puzzle.DOWN, Puzzle.DOWN, Puzzle.RIGHT, Puzzle.UP,
+            Puzzle.LEFT, Puzzle.UP, Puzzle.RIGHT, Puzzle.DOWN };
+
+    public SolutionOutput solve(Puzzle puzzle) {
+        long startTime = System.nanoTime();
+        SearchStatistics statistics = new SearchStatistics("Constructive");
+        List<Integer> moves = findMoves(puzzle);
+        SolutionOutput solution = new SolutionOutput(startTime, puzzle, moves, 1, null, statistics);
+        statistics.commitEvent(solution.getNumOfMovements());
+        return solution;
+    }
+
+    public List<Integer> findMoves(Puzzle puzzle) {
+        // Moves of the empty space that take the puzzle to the solved board
+        if (!puzzle.isSolvable()) {
+            throw new IllegalArgumentException("The board is not solvable");
+        }
+        Board board = new Board(puzzle);
+        int size = puzzle.size();
+        int top = 0;
+        int left = 0;
+        while (size - top > 2 || size - left > 2) {
+            // Take the longer side off first so the region stays close to square
+            int height = size - top;
+            int width = size - left;
+            if (height > 2 && (height >= width || width <= 2)) {
+                board.solveRow(top, left);
+                top++;
+            } else {
+                board.solveColumn(top, left);
+                left++;
+            }
+        }
+        board.solveLastBlock();
+        return board.moves;
+    }
+
+    private static final class Board {
+        // Flat copy of the tiles with the position of every tile, so each step is O(1) instead of a board scan
+        private final int size;
+        private final int[] tiles;
+        private final int[] positions;
+        private final boolean[] locked; // Solved cells that no later step may disturb
+        private final List<Integer> moves = new ArrayList<>();
+        // Breadth-first search scratch space, reused by every path search
+        private final int[] queue;
+        private final int[] previous;
+        private final int[] visited;
+        private int stamp;
+
+        Board(Puzzle puzzle) {
+            this.size = puzzle.size();
+            this.tiles = new int[size * size];
+            this.positions = new int[size * size];
+            this.locked = new boolean[size * size];
+            this.queue = new int[size * size];
+            this.previous = new int[size * size];
+            this.visited = new int[size * size];
+            for (int position = 0; position < tiles.length; position++) {
+                tiles[position] = puzzle.getTile(position);
+                positions[tiles[position]] = position;
+            }
+        }
+
+        void solveRow(int row, int left) {
+            // All but the last two tiles go straight to their cells
+            for (int col = left; col < size - 2; col++) {
+                placeTile(row * size + col + 1, row * size + col);
+                locked[row * size + col] = true;
+            }
+            // The last two can only enter together: the first is parked in the corner, then finishPair brings the
+            // second in
+            int first = row * size + size - 1;
+            int second = first + 1;
+            int firstCell = first - 1;
+            int secondCell = first;
+            if (tiles[firstCell] != first || tiles[secondCell] != second) {
+                placeTile(first, secondCell);
+                locked[secondCell] = true;
+                finishPair(second, firstCell, secondCell, firstCell + size, secondCell + size, false);
+            }
+            locked[firstCell] = true;
+            locked[secondCell] = true;
+        }
+
+        void solveColumn(int top, int col) {
+            // The transpose of solveRow: the last two tiles are parked in the bottom row side by side
+            for (int row = top; row < size - 2; row++) {
+                placeTile(row * size + col + 1, row * size + col);
+                locked[row * size + col] = true;
+            }
+            int firstCell = (size - 2) * size + col;
+            int secondCell = firstCell + size;
+            int first = firstCell + 1;
+            int second = secondCell + 1;
+            if (tiles[firstCell] != first || tiles[secondCell] != second) {
+                placeTile(first, secondCell);
+                locked[secondCell] = true;
+                finishPair(second, firstCell, secondCell, firstCell + 1, secondCell + 1, true);
+            }
+            locked[firstCell] = true;
+            locked[secondCell] = true;
+        }
+
+        private void finishPair(int second, int firstCell, int secondCell, int neck, int parking,
+                boolean transposed) {
+            // The first tile is parked in secondCell. firstCell is then a dead end whose only free neighbour is
+            // neck, so the second tile cannot be walked out of it, nor past neck while the empty space is inside
+            int along = transposed ? Puzzle.DOWN : Puzzle.RIGHT; // From firstCell to secondCell
+            int inward = transposed ? Puzzle.RIGHT : Puzzle.DOWN; // From firstCell to neck
+            if (positions[0] == firstCell && tiles[neck] == second) {
+                moveBlank(inward);
+            }
+            if (tiles[firstCell] == second) {
+                moveBlankTo(neck, firstCell);
+                for (int move : SWAP_LAST_PAIR) {
+                    moveBlank(transposed ? move ^ 2 : move);
+                }
+                return;
+            }
+            // Otherwise the second tile waits next to the first and the empty space slides both into place
+            placeTile(second, parking);
+            locked[parking] = true;
+            moveBlankTo(firstCell, -1);
+            moveBlank(along);
+            moveBlank(inward);
+            locked[parking] = false;
+        }
+
+        void solveLastBlock() {
+            // Three tiles around a 2x2 block have three arrangements with the empty space in the corner; a
+            // solvable board is solved in one of them
+            if (size < 2) {
+                return;
+            }
+            int corner = size * size - 1;
+            moveBlankTo(corner, -1);
+            for (int turn = 0; turn < 3 && !isLastBlockSolved(); turn++) {
+                moveBlank(Puzzle.UP);
+                moveBlank(Puzzle.LEFT);
+                moveBlank(Puzzle.DOWN);
+                moveBlank(Puzzle.RIGHT);
+            }
+            if (!isLastBlockSolved()) {
+                throw new IllegalStateException("The last block could not be solved");
+            }
+        }
+
+        private boolean isLastBlockSolved() {
+            int topLeft = (size - 2) * size + size - 2;
+            return tiles[topLeft] == topLeft + 1 && tiles[topLeft + 1] == topLeft + 2
+                    && tiles[topLeft + size] == topLeft + size + 1;
+        }
+
+        private void placeTile(int tile, int target) {
+            // Walk the tile along a shortest path around the locked cells; before each step the empty space is
+            // brought to the next cell without passing through the tile, then swaps with it
+            if (positions[tile] == target) {
+                return;
+            }
+            int[] path = findPath(positions[tile], target, -1);
+            for (int step = 1; step < path.length; step++) {
+                int tilePosition = positions[tile];
+                moveBlankTo(path[step], tilePosition);
+                moveBlank(direction(path[step], tilePosition));
+            }
+        }
+
+        private void moveBlankTo(int target, int avoid) {
+            int[] path = findPath(positions[0], target, avoid);
+            for (int step = 1; step < path.length; step++) {
+                moveBlank(direction(path[step - 1], path[step]));
+            }
+        }
+
+        private int[] findPath(int from, int to, int avoid) {
+            // Breadth-first search over the unlocked cells, skipping avoid (-1 for none); returns from..to
+            stamp++;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = from;
+            visited[from] = stamp;
+            while (head < tail && visited[to] != stamp) {
+                int cell = queue[head++];
+                int row = cell / size;
+                int col = cell % size;
+                for (int move = Puzzle.UP; move <= Puzzle.RIGHT; move++) {
+                    int nextRow = row + Puzzle.rowOffset(move);
+                    int nextCol = col + Puzzle.colOffset(move);
+                    if (nextRow < 0 || nextRow >= size || nextCol < 0 || nextCol >= size) {
+                        continue;
+                    }
+                    int next = nextRow * size + nextCol;
+                    if (visited[next] == stamp || locked[next] || next == avoid) {
+                        continue;
+                    }
+                    visited[next] = stamp;
+                    previous[next] = cell;
+                    queue[tail++] = next;
+                }
+            }
+            if (visited[to] != stamp) {
+                throw new IllegalStateException("No path from cell " + from + " to cell " + to);
+            }
+            int length = 1;
+            for (int cell = to; cell != from; cell = previous[cell]) {
+                length++;
+            }
+            int[] path = new int[length];
+            int cell = to;
+            for (int index = length - 1; index > 0; index--) {
+                path[index] = cell;
+                cell = previous[cell];
+            }
+            path[0] = from;
+            return path;
+        }
+
+        private int direction(int from, int to) {
+            // The move that takes the empty space from one cell to a neighbouring one
+            if (to == from - size) {
+                return Puzzle.UP;
+            }
+            if (to == from + size) {
+                return Puzzle.DOWN;
+            }
+            return to == from - 1 ? Puzzle.LEFT : Puzzle.RIGHT;
+        }
+
+        private void moveBlank(int move) {
+            int blank = positions[0];
+            int target = blank + Puzzle.rowOffset(move) * size + Puzzle.colOffset(move);
+            int tile = tiles[target];
+            tiles[blank] = tile;
+            positions[tile] = blank;
+            tiles[target] = 0;
+            positions[0] = target;
+            moves.add(move);
+        }
+    }
+}
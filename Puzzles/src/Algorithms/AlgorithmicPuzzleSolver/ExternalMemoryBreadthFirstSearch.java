@@ -0,0 +1,325 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import Puzzles.Puzzle;
+
+public class ExternalMemoryBreadthFirstSearch {
+    // Breadth-first sweep whose layers live on disk instead of in a visited set. Each layer is a sorted file of
+    // packed boards; successors are sorted in memory-sized runs, merged, and duplicates are removed afterwards by
+    // merging against the previous two layers (delayed duplicate detection). Memory use is bounded by the run size
+    private static final int RECORD_BYTES = 16; // High and low packed key words
+    private static final long MAP_WINDOW_BYTES = 1L << 26; // Files are streamed through mappings of this size
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    public static final int DEFAULT_RUN_RECORDS = 1 << 22;
+
+    private final Path workDirectory;
+    private final int runRecords;
+    private final boolean keepLayers;
+
+    public ExternalMemoryBreadthFirstSearch(Path workDirectory) {
+        this(workDirectory, DEFAULT_RUN_RECORDS, false);
+    }
+
+    public ExternalMemoryBreadthFirstSearch(Path workDirectory, int runRecords, boolean keepLayers) {
+        // With keepLayers every layer file (layer-<depth>.bin) is left in the work directory for later use
+        if (runRecords < 1) {
+            throw new IllegalArgumentException("Runs need room for at least one record");
+        }
+        this.workDirectory = workDirectory;
+        this.runRecords = runRecords;
+        this.keepLayers = keepLayers;
+    }
+
+    public long[] layerSizes(Puzzle start) {
+        return layerSizes(start, Integer.MAX_VALUE);
+    }
+
+    public long[] layerSizes(Puzzle start, int maxDepth) {
+        // Number of boards at each distance from the start, up to maxDepth or until the space is exhausted
+        if (!start.hasPackedKey()) {
+            throw new IllegalArgumentException("External BFS needs boards that fit the packed key");
+        }
+        try {
+            Files.createDirectories(workDirectory);
+            List<Long> sizes = new ArrayList<>();
+            Path previous = null;
+            Path current = layerFile(0);
+            try (RecordWriter writer = new RecordWriter(current)) {
+                writer.write(start.getPackedHigh(), start.getPackedLow());
+            }
+            sizes.add(1L);
+
+            for (int depth = 0; depth < maxDepth; depth++) {
+                Path next = layerFile(depth + 1);
+                long count = expandLayer(start.size(), current, previous, next);
+                if (previous != null && !keepLayers) {
+                    Files.delete(previous);
+                }
+                previous = null;
+                if (count == 0) {
+                    Files.delete(next);
+                    break;
+                }
+                sizes.add(count);
+                previous = current;
+                current = next;
+            }
+            if (!keepLayers) {
+                if (previous != null) {
+                    Files.delete(previous);
+                }
+                Files.delete(current);
+            }
+
+            long[] result = new long[sizes.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = sizes.get(i);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("External BFS failed in " + workDirectory, e);
+        }
+    }
+
+    private Path layerFile(int depth) {
+        return workDirectory.resolve(String.format("layer-%03d.bin", depth));
+    }
+
+    private long expandLayer(int size, Path current, Path previous, Path next) throws IOException {
+        // Phase 1: generate successors into sorted, locally unique runs
+        List<Path> runs = new ArrayList<>();
+        long[] buffer = new long[2 * runRecords];
+        int buffered = 0;
+        try (RecordReader reader = new RecordReader(current)) {
+            while (reader.hasNext()) {
+                reader.next();
+                Puzzle puzzle = Puzzle.fromPackedKey(size, reader.low, reader.high);
+                for (int move : puzzle.getLegalMoves()) {
+                    if (buffered == runRecords) {
+                        runs.add(writeRun(buffer, buffered, runs.size()));
+                        buffered = 0;
+                    }
+                    puzzle.applyMove(move);
+                    buffer[2 * buffered] = puzzle.getPackedHigh();
+                    buffer[2 * buffered + 1] = puzzle.getPackedLow();
+                    buffered++;
+                    puzzle.undoMove(move);
+                }
+            }
+        }
+        if (buffered > 0) {
+            runs.add(writeRun(buffer, buffered, runs.size()));
+        }
+
+        // Phase 2: merge the runs, dropping boards already in the current or previous layer
+        long count = 0;
+        PriorityQueue<RecordReader> heads = new PriorityQueue<>(
+                (a, b) -> compare(a.high, a.low, b.high, b.low));
+        List<RecordReader> runReaders = new ArrayList<>(); // Closed in the finally block, also on failure
+        try (RecordReader currentLayer = new RecordReader(current);
+                RecordReader previousLayer = previous == null ? null : new RecordReader(previous);
+                RecordWriter writer = new RecordWriter(next)) {
+            for (Path run : runs) {
+                RecordReader reader = new RecordReader(run);
+                runReaders.add(reader);
+                if (reader.hasNext()) {
+                    reader.next();
+                    heads.add(reader);
+                }
+            }
+            currentLayer.next();
+            if (previousLayer != null) {
+                previousLayer.next();
+            }
+            boolean hasLast = false;
+            long lastHigh = 0;
+            long lastLow = 0;
+            while (!heads.isEmpty()) {
+                RecordReader head = heads.poll();
+                long high = head.high;
+                long low = head.low;
+                if (head.hasNext()) {
+                    head.next();
+                    heads.add(head);
+                }
+                if (hasLast && high == lastHigh && low == lastLow) {
+                    continue;
+                }
+                hasLast = true;
+                lastHigh = high;
+                lastLow = low;
+                if (!currentLayer.skipTo(high, low) && (previousLayer == null || !previousLayer.skipTo(high, low))) {
+                    writer.write(high, low);
+                    count++;
+                }
+            }
+        } finally {
+            for (RecordReader reader : runReaders) {
+                reader.close();
+            }
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+        return count;
+    }
+
+    private Path writeRun(long[] buffer, int records, int index) throws IOException {
+        sort(buffer, 0, records - 1);
+        Path run = workDirectory.resolve(String.format("run-%05d.bin", index));
+        try (RecordWriter writer = new RecordWriter(run)) {
+            for (int i = 0; i < records; i++) {
+                if (i > 0 && buffer[2 * i] == buffer[2 * i - 2] && buffer[2 * i + 1] == buffer[2 * i - 1]) {
+                    continue;
+                }
+                writer.write(buffer[2 * i], buffer[2 * i + 1]);
+            }
+        }
+        return run;
+    }
+
+    private static int compare(long high, long low, long otherHigh, long otherLow) {
+        int byHigh = Long.compare(high, otherHigh);
+        return byHigh != 0 ? byHigh : Long.compare(low, otherLow);
+    }
+
+    private static void sort(long[] records, int from, int to) {
+        // Quicksort over interleaved (high, low) pairs; recursing into the smaller side bounds the stack depth
+        while (to - from > 16) {
+            int middle = (from + to) >>> 1;
+            long pivotHigh = records[2 * middle];
+            long pivotLow = records[2 * middle + 1];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (compare(records[2 * i], records[2 * i + 1], pivotHigh, pivotLow) < 0) {
+                    i++;
+                }
+                while (compare(records[2 * j], records[2 * j + 1], pivotHigh, pivotLow) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(records, i++, j--);
+                }
+            }
+            if (j - from < to - i) {
+                sort(records, from, j);
+                from = i;
+            } else {
+                sort(records, i, to);
+                to = j;
+            }
+        }
+        // Insertion sort finishes short ranges
+        for (int i = from + 1; i <= to; i++) {
+            for (int j = i; j > from && compare(records[2 * j], records[2 * j + 1], records[2 * j - 2],
+                    records[2 * j - 1]) < 0; j--) {
+                swap(records, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(long[] records, int i, int j) {
+        long high = records[2 * i];
+        long low = records[2 * i + 1];
+        records[2 * i] = records[2 * j];
+        records[2 * i + 1] = records[2 * j + 1];
+        records[2 * j] = high;
+        records[2 * j + 1] = low;
+    }
+
+    private static final class RecordReader implements AutoCloseable {
+        // Sequential cursor over a record file, mapped one window at a time
+        private final FileChannel channel;
+        private final long length;
+        private long windowStart;
+        private MappedByteBuffer window;
+        private boolean exhausted;
+        long high;
+        long low;
+
+        RecordReader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.length = channel.size();
+            this.windowStart = 0;
+        }
+
+        boolean hasNext() throws IOException {
+            if (window != null && window.hasRemaining()) {
+                return true;
+            }
+            long nextStart = window == null ? 0 : windowStart + window.capacity();
+            if (nextStart >= length) {
+                return false;
+            }
+            windowStart = nextStart;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(MAP_WINDOW_BYTES, length - windowStart));
+            return true;
+        }
+
+        void next() throws IOException {
+            // Advance to the next record, or mark the cursor exhausted at the end of the file
+            if (!hasNext()) {
+                exhausted = true;
+                return;
+            }
+            high = window.getLong();
+            low = window.getLong();
+        }
+
+        boolean skipTo(long targetHigh, long targetLow) throws IOException {
+            // Advance past records smaller than the target; true when the target itself is in the file
+            while (!exhausted && compare(high, low, targetHigh, targetLow) < 0) {
+                next();
+            }
+            return !exhausted && high == targetHigh && low == targetLow;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class RecordWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+
+        RecordWriter(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(long high, long low) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.putLong(high);
+            buffer.putLong(low);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import Algorithms.HeuristicAlgorithms.PuzzleHeuristic;
+import Puzzles.Puzzle;
+import Puzzles.SearchStatistics;
+import Puzzles.SolutionOutput;
+
+public class HashDistributedAStar {
+    // Hash-distributed A* (HDA*): every board has one owning worker, chosen by its hash. A worker keeps its own
+    // open and closed lists and sends the children it does not own to their owner's inbox
+    private static final int EXPANSIONS_PER_ROUND = 64; // Expansions between two inbox drains
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private final int threads;
+
+    public HashDistributedAStar(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one worker thread is needed");
+        }
+        this.threads = threads;
+    }
+
+    private static final class Node {
+        // Immutable once created, so it can be handed to another worker through its inbox
+        final Puzzle state;
+        final Node parent;
+        final int gScore;
+        final double hScore;
+        final int move;
+
+        Node(Puzzle state, Node parent, int gScore, double hScore, int move) {
+            this.state = state;
+            this.parent = parent;
+            this.gScore = gScore;
+            this.hScore = hScore;
+            this.move = move;
+        }
+
+        double totalCost() {
+            return gScore + hScore;
+        }
+    }
+
+    private static final Comparator<Node> NODE_ORDER = (a, b) -> {
+        // f = g + h first, ties broken towards the larger g as in the sequential open lists
+        int byCost = Double.compare(a.totalCost(), b.totalCost());
+        return byCost != 0 ? byCost : Integer.compare(b.gScore, a.gScore);
+    };
+
+    public SolutionOutput solve(Puzzle puzzle, PuzzleHeuristic heuristic) {
+        long startTime = System.nanoTime();
+        SearchStatistics statistics = new SearchStatistics(
+                "Parallel A* (" + heuristic.getClass().getSimpleName() + ", " + threads + " threads)");
+        Puzzle start = new Puzzle(puzzle);
+        Search search = new Search(heuristic, start);
+        search.send(new Node(start, null, 0, heuristic.calculate(start), -1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Worker worker : search.workers) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel A* interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel A* failed", e.getCause());
+        } finally {
+            search.done = true;
+            executor.shutdownNow();
+        }
+
+        for (Worker worker : search.workers) {
+            statistics.merge(worker.statistics);
+        }
+        Node goal = search.incumbent.get();
+        if (goal == null) {
+            statistics.commitEvent(-1);
+            return null;
+        }
+        LinkedList<Integer> moves = new LinkedList<>();
+        for (Node node = goal; node.parent != null; node = node.parent) {
+            moves.addFirst(node.move);
+        }
+        int generated = (int) Math.min(statistics.getGeneratedNodes(), Integer.MAX_VALUE);
+        SolutionOutput solution = new SolutionOutput(startTime, puzzle, moves, generated, null, statistics);
+        statistics.commitEvent(solution.getNumOfMovements());
+        return solution;
+    }
+
+    private final class Search {
+        final PuzzleHeuristic heuristic;
+        final Worker[] workers;
+        // Best goal found so far; nodes that cannot beat it are dropped
+        final AtomicReference<Node> incumbent = new AtomicReference<>();
+        // Messages sent but not yet taken into their owner's open list
+        final AtomicLong inFlight = new AtomicLong();
+        // Bumped whenever an idle worker picks up work again, so termination checks can detect a race
+        final AtomicLong activations = new AtomicLong();
+        volatile boolean done;
+
+        Search(PuzzleHeuristic heuristic, Puzzle start) {
+            this.heuristic = heuristic;
+            this.workers = new Worker[threads];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = new Worker(this, start);
+            }
+        }
+
+        int owner(Puzzle state) {
+            int hash = state.hashCode() * 0x9E3779B9;
+            return Math.floorMod(hash ^ (hash >>> 16), workers.length);
+        }
+
+        void send(Node node) {
+            // Count the message before it becomes visible, so the total never reads zero while work exists
+            inFlight.incrementAndGet();
+            workers[owner(node.state)].inbox.add(node);
+        }
+
+        int incumbentCost() {
+            Node goal = incumbent.get();
+            return goal == null ? Integer.MAX_VALUE : goal.gScore;
+        }
+
+        void offerGoal(Node goal) {
+            Node current;
+            do {
+                current = incumbent.get();
+                if (current != null && current.gScore <= goal.gScore) {
+                    return;
+                }
+            } while (!incumbent.compareAndSet(current, goal));
+        }
+
+        boolean isFinished() {
+            // Everyone idle with nothing in flight means no open node is left anywhere. The activation counter
+            // must not move across the check, or a worker may have woken up behind an idle flag already read
+            long activationsBefore = activations.get();
+            for (Worker worker : workers) {
+                if (!worker.idle) {
+                    return false;
+                }
+            }
+            return inFlight.get() == 0 && activations.get() == activationsBefore;
+        }
+    }
+
+    private final class Worker implements Runnable {
+        final Search search;
+        final ConcurrentLinkedQueue<Node> inbox = new ConcurrentLinkedQueue<>();
+        final PriorityQueue<Node> openList = new PriorityQueue<>(NODE_ORDER);
+        final OffHeapClosedSet bestGScores;
+        volatile boolean idle = true;
+        final SearchStatistics statistics = new SearchStatistics("Parallel A* worker");
+
+        Worker(Search search, Puzzle start) {
+            this.search = search;
+            this.bestGScores = new OffHeapClosedSet(start);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!search.done) {
+                    drainInbox();
+                    for (int i = 0; i < EXPANSIONS_PER_ROUND && !openList.isEmpty(); i++) {
+                        expand(openList.poll());
+                    }
+                    statistics.openListSize(openList.size());
+                    statistics.closedSetSize(bestGScores.size());
+                    if (openList.isEmpty() && inbox.isEmpty()) {
+                        idle = true;
+                        if (search.isFinished()) {
+                            search.done = true;
+                        } else {
+                            LockSupport.parkNanos(IDLE_PARK_NANOS);
+                        }
+                    }
+                }
+            } finally {
+                // A failing worker stops the others instead of leaving them waiting for its messages
+                search.done = true;
+            }
+        }
+
+        private void drainInbox() {
+            Node node;
+            while ((node = inbox.poll()) != null) {
+                if (idle) {
+                    // Announce the wake-up before the message stops counting as in flight
+                    idle = false;
+                    search.activations.incrementAndGet();
+                }
+                int knownGScore = bestGScores.get(node.state);
+                if ((knownGScore == OffHeapClosedSet.MISSING || node.gScore < knownGScore)
+                        && node.totalCost() < search.incumbentCost()) {
+                    bestGScores.put(node.state, node.gScore);
+                    openList.add(node);
+                } else {
+                    statistics.duplicateFound();
+                }
+                search.inFlight.decrementAndGet();
+            }
+        }
+
+        private void expand(Node node) {
+            // Skip entries superseded by a cheaper path, and anything that cannot beat the best goal so far
+            if (node.gScore > bestGScores.get(node.state) || node.totalCost() >= search.incumbentCost()) {
+                return;
+            }
+            if (node.state.isBoardSolved()) {
+                search.offerGoal(node);
+                return;
+            }
+            statistics.nodeExpanded();
+            // Children are generated in place on a scratch copy; only those that survive pruning are copied
+            Puzzle board = new Puzzle(node.state);
+            int gScore = node.gScore + 1;
+            board.forEachSuccessor(node.move, (successor, move, movedTile) -> {
+                long heuristicStart = statistics.startHeuristicTimer();
+                double hScore = search.heuristic.update(successor, node.hScore, move, movedTile);
+                statistics.stopHeuristicTimer(heuristicStart);
+                statistics.nodeGenerated();
+                if (gScore + hScore >= search.incumbentCost()) {
+                    return;
+                }
+                // Children this worker owns skip the inbox
+                if (search.workers[search.owner(successor)] == this) {
+                    int knownGScore = bestGScores.get(successor);
+                    if (knownGScore == OffHeapClosedSet.MISSING || gScore < knownGScore) {
+                        bestGScores.put(successor, gScore);
+                        openList.add(new Node(new Puzzle(successor), node, gScore, hScore, move));
+                    } else {
+                        statistics.duplicateFound();
+                    }
+                } else {
+                    search.send(new Node(new Puzzle(successor), node, gScore, hScore, move));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+import Puzzles.Puzzle;
+
+public class OffHeapClosedSet {
+    // Closed set mapping boards to a non-negative int (a g-score or a node index). Packed boards live in an
+    // open-addressing table in direct memory, so millions of entries cost no heap objects and no GC work;
+    // boards too large for the packed key fall back to a HashMap
+    public static final int MISSING = -1;
+
+    // Slot layout: low key word, high key word, value + 1 (0 marks an empty slot), padding
+    private static final int SLOT_BYTES = 24;
+    private static final int VALUE_OFFSET = 16;
+    private static final int PAGE_BITS = 16; // Slots per direct buffer, so no single buffer nears 2 GB
+    private static final int PAGE_SLOTS = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SLOTS - 1;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private final boolean packed;
+    private final Map<Puzzle, Integer> fallback;
+    private ByteBuffer[] pages;
+    private long capacity; // Always a power of two
+    private long count;
+
+    public OffHeapClosedSet(Puzzle start) {
+        this.packed = start.hasPackedKey();
+        if (packed) {
+            this.fallback = null;
+            allocate(INITIAL_CAPACITY);
+        } else {
+            this.fallback = new HashMap<>();
+        }
+    }
+
+    private void allocate(long slots) {
+        this.capacity = slots;
+        int pageCount = (int) ((slots + PAGE_SLOTS - 1) >>> PAGE_BITS);
+        int pageSlots = (int) Math.min(slots, PAGE_SLOTS);
+        this.pages = new ByteBuffer[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            // Direct buffers start zeroed, so every slot starts empty
+            pages[i] = ByteBuffer.allocateDirect(pageSlots * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    public boolean add(Puzzle puzzle) {
+        // Returns false when the board was already present
+        if (contains(puzzle)) {
+            return false;
+        }
+        put(puzzle, 0);
+        return true;
+    }
+
+    public boolean contains(Puzzle puzzle) {
+        return get(puzzle) != MISSING;
+    }
+
+    public int get(Puzzle puzzle) {
+        if (!packed) {
+            Integer value = fallback.get(puzzle);
+            return value == null ? MISSING : value;
+        }
+        long low = puzzle.getPackedLow();
+        long high = puzzle.getPackedHigh();
+        for (long slot = home(low, high); ; slot = (slot + 1) & (capacity - 1)) {
+            ByteBuffer page = pages[(int) (slot >>> PAGE_BITS)];
+            int offset = (int) (slot & PAGE_MASK) * SLOT_BYTES;
+            int stored = page.getInt(offset + VALUE_OFFSET);
+            if (stored == 0) {
+                return MISSING;
+            }
+            if (page.getLong(offset) == low && page.getLong(offset + 8) == high) {
+                return stored - 1;
+            }
+        }
+    }
+
+    public void put(Puzzle puzzle, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Closed set values must be non-negative: " + value);
+        }
+        if (!packed) {
+            fallback.put(new Puzzle(puzzle), value); // Callers may keep moving the board in place
+            return;
+        }
+        // Keep the load factor at or below 3/4 so probe sequences stay short
+        if ((count + 1) * 4 > capacity * 3) {
+            resize();
+        }
+        if (insert(puzzle.getPackedLow(), puzzle.getPackedHigh(), value + 1)) {
+            count++;
+        }
+    }
+
+    private boolean insert(long low, long high, int stored) {
+        // Returns true when a new slot was taken, false when an existing key was overwritten
+        for (long slot = home(low, high); ; slot = (slot + 1) & (capacity - 1)) {
+            ByteBuffer page = pages[(int) (slot >>> PAGE_BITS)];
+            int offset = (int) (slot & PAGE_MASK) * SLOT_BYTES;
+            int current = page.getInt(offset + VALUE_OFFSET);
+            if (current == 0) {
+                page.putLong(offset, low);
+                page.putLong(offset + 8, high);
+                page.putInt(offset + VALUE_OFFSET, stored);
+                return true;
+            }
+            if (page.getLong(offset) == low && page.getLong(offset + 8) == high) {
+                page.putInt(offset + VALUE_OFFSET, stored);
+                return false;
+            }
+        }
+    }
+
+    private void resize() {
+        // Rehash into a table twice the size; the old buffers are released once they are unreachable
+        ByteBuffer[] oldPages = pages;
+        long oldCapacity = capacity;
+        allocate(capacity * 2);
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            ByteBuffer page = oldPages[(int) (slot >>> PAGE_BITS)];
+            int offset = (int) (slot & PAGE_MASK) * SLOT_BYTES;
+            int stored = page.getInt(offset + VALUE_OFFSET);
+            if (stored != 0) {
+                insert(page.getLong(offset), page.getLong(offset + 8), stored);
+            }
+        }
+    }
+
+    private long home(long low, long high) {
+        long hash = low * 0x9E3779B97F4A7C15L + high * 0xC2B2AE3D27D4EB4FL;
+        return (hash ^ (hash >>> 31)) & (capacity - 1);
+    }
+
+    public void clear() {
+        // Empties the set but keeps its table, so a set reused layer after layer does not reallocate
+        if (!packed) {
+            fallback.clear();
+            return;
+        }
+        for (long slot = 0; slot < capacity; slot++) {
+            pages[(int) (slot >>> PAGE_BITS)].putInt((int) (slot & PAGE_MASK) * SLOT_BYTES + VALUE_OFFSET, 0);
+        }
+        count = 0;
+    }
+
+    public long size() {
+        return packed ? count : fallback.size();
+    }
+
+    public long getOffHeapBytes() {
+        return packed ? capacity * SLOT_BYTES : 0;
+    }
+}
@@ -0,0 +1,9 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+public interface OpenList {
+    // Frontier of node indexes ordered by f = g + h, ties broken towards the larger g
+    void push(int node, double totalCost, int gScore);
+    int pop();
+    boolean isEmpty();
+    int size();
+}
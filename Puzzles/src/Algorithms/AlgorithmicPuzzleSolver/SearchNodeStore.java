@@ -0,0 +1,131 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import Puzzles.Puzzle;
+
+public class SearchNodeStore {
+    // Nodes live in parallel primitive arrays, allocated in fixed-size chunks so growing never copies them
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int boardSize;
+    private final boolean packed; // Boards are stored as packed keys, otherwise as Puzzle objects
+    private int[][] parents;
+    private int[][] gScores;
+    private double[][] hScores;
+    private byte[][] moves;
+    private long[][] lows;
+    private long[][] highs;
+    private Puzzle[][] states;
+    private int count;
+
+    public SearchNodeStore(Puzzle start) {
+        this.boardSize = start.size();
+        this.packed = start.hasPackedKey();
+        this.parents = new int[1][];
+        this.gScores = new int[1][];
+        this.hScores = new double[1][];
+        this.moves = new byte[1][];
+        if (packed) {
+            this.lows = new long[1][];
+            this.highs = new long[1][];
+        } else {
+            this.states = new Puzzle[1][];
+        }
+        this.count = 0;
+    }
+
+    public int add(Puzzle state, int parent, int gScore, double hScore, int move) {
+        // Returns the new node index; parent and move are -1 for the start node
+        int node = count;
+        int chunk = node >>> CHUNK_BITS;
+        int offset = node & CHUNK_MASK;
+        if (offset == 0) {
+            allocateChunk(chunk);
+        }
+        parents[chunk][offset] = parent;
+        gScores[chunk][offset] = gScore;
+        hScores[chunk][offset] = hScore;
+        moves[chunk][offset] = (byte) move;
+        if (packed) {
+            lows[chunk][offset] = state.getPackedLow();
+            highs[chunk][offset] = state.getPackedHigh();
+        } else {
+            states[chunk][offset] = new Puzzle(state); // Callers may keep moving the board in place
+        }
+        count++;
+        return node;
+    }
+
+    private void allocateChunk(int chunk) {
+        if (chunk == parents.length) {
+            int chunks = chunk * 2;
+            parents = Arrays.copyOf(parents, chunks);
+            gScores = Arrays.copyOf(gScores, chunks);
+            hScores = Arrays.copyOf(hScores, chunks);
+            moves = Arrays.copyOf(moves, chunks);
+            if (packed) {
+                lows = Arrays.copyOf(lows, chunks);
+                highs = Arrays.copyOf(highs, chunks);
+            } else {
+                states = Arrays.copyOf(states, chunks);
+            }
+        }
+        parents[chunk] = new int[CHUNK_SIZE];
+        gScores[chunk] = new int[CHUNK_SIZE];
+        hScores[chunk] = new double[CHUNK_SIZE];
+        moves[chunk] = new byte[CHUNK_SIZE];
+        if (packed) {
+            lows[chunk] = new long[CHUNK_SIZE];
+            highs[chunk] = new long[CHUNK_SIZE];
+        } else {
+            states[chunk] = new Puzzle[CHUNK_SIZE];
+        }
+    }
+
+    public Puzzle getState(int node) {
+        // Packed boards are rebuilt on demand, so callers get their own copy
+        int chunk = node >>> CHUNK_BITS;
+        int offset = node & CHUNK_MASK;
+        if (packed) {
+            return Puzzle.fromPackedKey(boardSize, lows[chunk][offset], highs[chunk][offset]);
+        }
+        return new Puzzle(states[chunk][offset]);
+    }
+
+    public int getParent(int node) {
+        return parents[node >>> CHUNK_BITS][node & CHUNK_MASK];
+    }
+
+    public int getGScore(int node) {
+        return gScores[node >>> CHUNK_BITS][node & CHUNK_MASK];
+    }
+
+    public double getHScore(int node) {
+        return hScores[node >>> CHUNK_BITS][node & CHUNK_MASK];
+    }
+
+    public double getTotalCost(int node) {
+        return getGScore(node) + getHScore(node);
+    }
+
+    public int getMove(int node) {
+        return moves[node >>> CHUNK_BITS][node & CHUNK_MASK];
+    }
+
+    public LinkedList<Integer> getMovesTo(int node) {
+        // Follow the parent links back to the start node
+        LinkedList<Integer> path = new LinkedList<>();
+        for (int current = node; getParent(current) != -1; current = getParent(current)) {
+            path.addFirst(getMove(current));
+        }
+        return path;
+    }
+
+    public int size() {
+        return count;
+    }
+}
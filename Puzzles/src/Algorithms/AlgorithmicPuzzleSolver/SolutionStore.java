@@ -0,0 +1,296 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import Puzzles.Puzzle;
+
+public class SolutionStore implements Closeable {
+    // Optimal solutions that survive between runs. Every board on an optimal path is stored with the next move of
+    // that path and its distance to the goal, since each suffix of an optimal path is optimal too; a lookup
+    // follows the chain of next moves. Records are appended to a memory-mapped data file, and an open-addressing
+    // hash index in a second mapped file points at them. The data file is the source of truth: a missing or
+    // stale index is rebuilt from it when the store is opened
+    private static final int MAGIC = 0x505A5353; // "PZSS"
+    private static final int VERSION = 1;
+    // Record: packed high and low words, board size, next move (-1 at the goal), 2 spare bytes, distance
+    private static final int RECORD_BYTES = 24;
+    private static final int SEGMENT_RECORDS = 1 << 20; // The data file is mapped in segments of whole records
+    private static final long SEGMENT_BYTES = (long) RECORD_BYTES * SEGMENT_RECORDS;
+    // Index: magic, capacity and record count, then one slot per entry holding a record number (0 for empty)
+    private static final int INDEX_HEADER_BYTES = 16;
+    private static final int MIN_CAPACITY = 1 << 12;
+    private static final int MAX_CAPACITY = 1 << 27; // A mapped buffer is limited to 2 GB
+
+    private final Path indexFile;
+    private final FileChannel dataChannel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private MappedByteBuffer index;
+    private int capacity;
+    private long records; // Record 0 is the data file header, so records are numbered from 1
+
+    public SolutionStore(Path directory) {
+        // Opens the store in the directory, creating it when it does not exist yet
+        this.indexFile = directory.resolve("solutions.idx");
+        try {
+            Files.createDirectories(directory);
+            this.dataChannel = FileChannel.open(directory.resolve("solutions.dat"), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean created = dataChannel.size() == 0;
+            MappedByteBuffer header = segment(0);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+            } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not a solution store: " + directory);
+            }
+            openIndex(created);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the solution store in " + directory, e);
+        }
+    }
+
+    private void openIndex(boolean created) throws IOException {
+        // Reuse the index when it is intact, then pick up records appended after it was last written
+        if (!created && Files.exists(indexFile)) {
+            try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                if (size >= INDEX_HEADER_BYTES) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    int storedCapacity = mapped.getInt(4);
+                    if (mapped.getInt(0) == MAGIC && Integer.bitCount(storedCapacity) == 1
+                            && size == INDEX_HEADER_BYTES + 8L * storedCapacity) {
+                        index = mapped;
+                        capacity = storedCapacity;
+                        records = mapped.getLong(8);
+                    }
+                    if (index != null && records > 0 && !hasRecord(records)) {
+                        index = null; // The index got to disk but some of the records it counts did not
+                    }
+                }
+            }
+        }
+        if (index == null) {
+            records = 0;
+        }
+        // Count the records first, so the index is sized for all of them before any is added to it
+        long total = records;
+        while (hasRecord(total + 1)) {
+            total++;
+        }
+        int neededCapacity = capacityFor(total);
+        if (index == null || neededCapacity > capacity) {
+            records = total;
+            rebuildIndex(neededCapacity);
+        }
+        while (records < total) {
+            records++;
+            indexRecord(records);
+        }
+        index.putLong(8, records);
+    }
+
+    private static int capacityFor(long records) {
+        // Smallest capacity that keeps the index at most half full, as append does
+        int capacity = MIN_CAPACITY;
+        while (2 * (records + 1) > capacity && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        if (2 * (records + 1) > capacity) {
+            throw new IllegalStateException("The solution store holds more records than its index can take");
+        }
+        return capacity;
+    }
+
+    public synchronized byte[] lookup(Puzzle start) {
+        // The stored optimal moves from this board, or null when it is not in the store
+        if (!start.hasPackedKey()) {
+            return null;
+        }
+        Puzzle current = new Puzzle(start);
+        long record = find(current);
+        if (record == 0) {
+            return null;
+        }
+        byte[] moves = new byte[distance(record)];
+        for (int step = 0; step < moves.length; step++) {
+            int move = move(record);
+            if (current.performMove(move) == -1) {
+                return null; // A damaged record; the caller searches instead
+            }
+            moves[step] = (byte) move;
+            record = find(current);
+            if (record == 0 || distance(record) != moves.length - step - 1) {
+                return null;
+            }
+        }
+        return moves;
+    }
+
+    public synchronized boolean contains(Puzzle puzzle) {
+        return puzzle.hasPackedKey() && find(puzzle) != 0;
+    }
+
+    public synchronized int add(Puzzle start, byte[] moves) {
+        // Stores an optimal solution and all of its suffixes; returns how many boards were new. Boards already in
+        // the store keep their record, which is optimal as well
+        if (!start.hasPackedKey()) {
+            return 0;
+        }
+        Puzzle current = new Puzzle(start);
+        int added = 0;
+        for (int step = 0; step <= moves.length; step++) {
+            if (find(current) == 0) {
+                append(current, step < moves.length ? moves[step] : -1, moves.length - step);
+                added++;
+            }
+            if (step < moves.length && current.performMove(moves[step]) == -1) {
+                throw new IllegalArgumentException("Move " + step + " (" + moves[step] + ") is not possible");
+            }
+        }
+        if (added > 0) {
+            index.putLong(8, records);
+        }
+        return added;
+    }
+
+    public synchronized long size() {
+        // Number of boards in the store
+        return records;
+    }
+
+    public synchronized void flush() {
+        // Write the mapped pages back to disk
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        index.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            dataChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the solution store", e);
+        }
+    }
+
+    private void append(Puzzle puzzle, int move, int distance) {
+        long record = records + 1;
+        if (2 * (record + 1) > capacity && capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("The solution store is full");
+        }
+        MappedByteBuffer segment = segment(record / SEGMENT_RECORDS);
+        int offset = (int) (record % SEGMENT_RECORDS) * RECORD_BYTES;
+        segment.putLong(offset, puzzle.getPackedHigh());
+        segment.putLong(offset + 8, puzzle.getPackedLow());
+        segment.put(offset + 16, (byte) puzzle.size());
+        segment.put(offset + 17, (byte) move);
+        segment.putInt(offset + 20, distance);
+        records = record;
+        if (2 * (records + 1) > capacity) {
+            rebuildIndex(capacity * 2); // Keeps the index at most half full
+        } else {
+            indexRecord(record);
+        }
+    }
+
+    private long find(Puzzle puzzle) {
+        // Record number of the board, or 0 when it is not stored
+        int mask = capacity - 1;
+        for (int slot = hash(puzzle.size(), puzzle.getPackedHigh(), puzzle.getPackedLow()) & mask; ;
+                slot = (slot + 1) & mask) {
+            long record = index.getLong(INDEX_HEADER_BYTES + 8 * slot);
+            if (record == 0) {
+                return 0;
+            }
+            MappedByteBuffer segment = segment(record / SEGMENT_RECORDS);
+            int offset = (int) (record % SEGMENT_RECORDS) * RECORD_BYTES;
+            if (segment.getLong(offset) == puzzle.getPackedHigh() && segment.getLong(offset + 8) == puzzle.getPackedLow()
+                    && segment.get(offset + 16) == puzzle.size()) {
+                return record;
+            }
+        }
+    }
+
+    private void indexRecord(long record) {
+        MappedByteBuffer segment = segment(record / SEGMENT_RECORDS);
+        int offset = (int) (record % SEGMENT_RECORDS) * RECORD_BYTES;
+        int mask = capacity - 1;
+        int slot = hash(segment.get(offset + 16), segment.getLong(offset), segment.getLong(offset + 8)) & mask;
+        while (index.getLong(INDEX_HEADER_BYTES + 8 * slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index.putLong(INDEX_HEADER_BYTES + 8 * slot, record);
+    }
+
+    private void rebuildIndex(int newCapacity) {
+        // Written to a temporary file and moved over the old index, so a crash never leaves half an index
+        try {
+            Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            Files.deleteIfExists(temporary);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                index = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_BYTES + 8L * newCapacity);
+            }
+            capacity = newCapacity;
+            index.putInt(0, MAGIC);
+            index.putInt(4, capacity);
+            for (long record = 1; record <= records; record++) {
+                indexRecord(record);
+            }
+            index.putLong(8, records);
+            index.force();
+            Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rebuild the solution store index", e);
+        }
+    }
+
+    private boolean hasRecord(long record) throws IOException {
+        // Mapping extends the data file past the last record with zeros, and a stored size is never 0
+        if ((record / SEGMENT_RECORDS + 1) * SEGMENT_BYTES > dataChannel.size()) {
+            return false;
+        }
+        MappedByteBuffer segment = segment(record / SEGMENT_RECORDS);
+        return segment.get((int) (record % SEGMENT_RECORDS) * RECORD_BYTES + 16) != 0;
+    }
+
+    private int move(long record) {
+        return segment(record / SEGMENT_RECORDS).get((int) (record % SEGMENT_RECORDS) * RECORD_BYTES + 17);
+    }
+
+    private int distance(long record) {
+        return segment(record / SEGMENT_RECORDS).getInt((int) (record % SEGMENT_RECORDS) * RECORD_BYTES + 20);
+    }
+
+    private MappedByteBuffer segment(long number) {
+        // Segments are mapped on first use; mapping past the end grows the file
+        try {
+            while (segments.size() <= number) {
+                segments.add(dataChannel.map(FileChannel.MapMode.READ_WRITE, segments.size() * SEGMENT_BYTES,
+                        SEGMENT_BYTES));
+            }
+            return segments.get((int) number);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map the solution store", e);
+        }
+    }
+
+    private static int hash(int size, long high, long low) {
+        long hash = (low * 0x9E3779B97F4A7C15L) ^ (high * 0xC2B2AE3D27D4EB4FL) ^ size;
+        hash ^= hash >>> 29;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
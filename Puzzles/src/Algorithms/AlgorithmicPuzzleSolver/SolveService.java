@@ -0,0 +1,229 @@
+package Algorithms.AlgorithmicPuzzleSolver;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import Puzzles.Puzzle;
+import Puzzles.SolutionOutput;
+
+public class SolveService implements AutoCloseable {
+    // Asynchronous front end for one search algorithm. Searches run on a fixed pool of worker threads behind a
+    // bounded queue, so a burst of requests waits or is rejected instead of over-subscribing the machine.
+    // Requests for a board that is already being searched share that search; a search is only cancelled once
+    // every request waiting on it has been cancelled or has timed out
+    private static final int LATENCY_SAMPLES = 4096; // Percentiles cover the most recent requests
+
+    private final Function<Puzzle, SolutionOutput> algorithm;
+    private final ThreadPoolExecutor executor;
+    private final Map<Puzzle, Search> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong submittedRequests = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+    private final AtomicLong timedOutRequests = new AtomicLong();
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private long latencyCount;
+
+    public SolveService(Function<Puzzle, SolutionOutput> algorithm) {
+        this(algorithm, Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    public SolveService(Function<Puzzle, SolutionOutput> algorithm, int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("The service needs at least one thread and one queue slot");
+        }
+        this.algorithm = algorithm;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "puzzle-solver-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private final class Search {
+        // One search shared by every request for the same board
+        final Puzzle puzzle;
+        final CompletableFuture<SolutionOutput> result = new CompletableFuture<>();
+        private Future<?> task;
+        private int subscribers;
+        private boolean abandoned;
+
+        Search(Puzzle puzzle) {
+            this.puzzle = puzzle;
+        }
+
+        synchronized boolean subscribe() {
+            // False once the search was given up, so a new request starts a fresh one
+            if (abandoned) {
+                return false;
+            }
+            subscribers++;
+            return true;
+        }
+
+        void unsubscribe() {
+            // The map is updated outside this lock, because subscribe() is called while the map holds its own
+            Future<?> abandonedTask;
+            synchronized (this) {
+                if (--subscribers > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+                abandonedTask = task;
+            }
+            inFlight.remove(puzzle, this);
+            if (abandonedTask != null) {
+                abandonedTask.cancel(true); // Dequeues a waiting search, interrupts a running one
+            }
+            result.cancel(false);
+        }
+
+        synchronized void started(Future<?> task) {
+            this.task = task;
+            if (abandoned) {
+                task.cancel(true);
+            }
+        }
+
+        void run() {
+            try {
+                result.complete(algorithm.apply(puzzle));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                inFlight.remove(puzzle, this);
+            }
+        }
+    }
+
+    public CompletableFuture<SolutionOutput> submit(Puzzle puzzle) {
+        return submit(puzzle, null);
+    }
+
+    public CompletableFuture<SolutionOutput> submit(Puzzle puzzle, Duration timeout) {
+        // Completes with the solution (null when there is none), or exceptionally on timeout, rejection or
+        // failure. Cancelling the returned future withdraws this request only
+        long startTime = System.nanoTime();
+        submittedRequests.incrementAndGet();
+        Puzzle key = new Puzzle(puzzle); // The caller may keep changing its board
+        Search[] created = new Search[1];
+        Search search = inFlight.compute(key, (board, existing) -> {
+            if (existing != null && existing.subscribe()) {
+                return existing;
+            }
+            created[0] = new Search(board);
+            created[0].subscribe();
+            return created[0];
+        });
+        if (created[0] == null) {
+            coalescedRequests.incrementAndGet();
+        } else {
+            try {
+                search.started(executor.submit(search::run));
+            } catch (RejectedExecutionException e) {
+                rejectedRequests.incrementAndGet();
+                inFlight.remove(key, search);
+                search.result.completeExceptionally(e);
+            }
+        }
+
+        CompletableFuture<SolutionOutput> request = new CompletableFuture<>();
+        search.result.whenComplete((solution, error) -> {
+            if (error == null) {
+                request.complete(solution);
+            } else {
+                request.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+        if (timeout != null) {
+            request.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        request.whenComplete((solution, error) -> {
+            recordLatency(System.nanoTime() - startTime);
+            if (error instanceof TimeoutException) {
+                timedOutRequests.incrementAndGet();
+            }
+            if (!search.result.isDone()) {
+                search.unsubscribe(); // This request gave up before the search finished
+            }
+        });
+        return request;
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (latencies) {
+            latencies[(int) (latencyCount++ % LATENCY_SAMPLES)] = nanos;
+        }
+    }
+
+    public long getLatencyPercentile(double percentile) {
+        // Nanoseconds from submission to completion for the given percentile (0-100] of recent requests
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+        long[] samples;
+        synchronized (latencies) {
+            samples = Arrays.copyOf(latencies, (int) Math.min(latencyCount, LATENCY_SAMPLES));
+        }
+        if (samples.length == 0) {
+            return 0;
+        }
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(percentile / 100 * samples.length) - 1];
+    }
+
+    public int getQueueDepth() {
+        // Searches waiting for a worker
+        return executor.getQueue().size();
+    }
+
+    public int getActiveSearches() {
+        return executor.getActiveCount();
+    }
+
+    public int getInFlightSearches() {
+        // Queued plus running searches
+        return inFlight.size();
+    }
+
+    public long getSubmittedRequests() {
+        return submittedRequests.get();
+    }
+
+    public long getCoalescedRequests() {
+        // Requests that joined a search already under way for the same board
+        return coalescedRequests.get();
+    }
+
+    public long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    public long getTimedOutRequests() {
+        return timedOutRequests.get();
+    }
+
+    @Override
+    public void close() {
+        // Stops the workers; requests still waiting complete with a CancellationException
+        executor.shutdownNow();
+        for (Search search : inFlight.values()) {
+            search.result.completeExceptionally(new CancellationException("Solve service closed"));
+        }
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,135 @@
+package Algorithms.HeuristicAlgorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import Puzzles.Puzzle;
+
+public class ClockHeuristicCache implements HeuristicCache {
+    // Set-associative cache keyed by the packed board: each key maps to one bucket of WAYS slots,
+    // and a full bucket evicts with the clock (second chance) policy
+    private static final int WAYS = 8;
+    private static final int LOCK_STRIPES = 64;
+
+    private final int bucketMask;
+    private final long[] lows;
+    private final long[] highs;
+    private final int[] values; // MISS marks an empty slot
+    private final boolean[] referenced;
+    private final int[] clockHands; // Next slot to consider for eviction, per bucket
+    private final Object[] locks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ClockHeuristicCache(int capacity) {
+        // Capacity is rounded up to a power-of-two number of buckets
+        int buckets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS - 1)) << 1;
+        this.bucketMask = buckets - 1;
+        this.lows = new long[buckets * WAYS];
+        this.highs = new long[buckets * WAYS];
+        this.values = new int[buckets * WAYS];
+        this.referenced = new boolean[buckets * WAYS];
+        this.clockHands = new int[buckets];
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        Arrays.fill(values, MISS);
+    }
+
+    private int bucket(long low, long high) {
+        long hash = low * 0x9E3779B97F4A7C15L + high * 0xC2B2AE3D27D4EB4FL;
+        return (int) (hash ^ (hash >>> 29)) & bucketMask;
+    }
+
+    @Override
+    public int get(Puzzle puzzle) {
+        // Boards larger than the packed key are never cached
+        if (!puzzle.hasPackedKey()) {
+            misses.increment();
+            return MISS;
+        }
+        long low = puzzle.getPackedLow();
+        long high = puzzle.getPackedHigh();
+        int bucket = bucket(low, high);
+        synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+            for (int slot = bucket * WAYS; slot < (bucket + 1) * WAYS; slot++) {
+                if (values[slot] != MISS && lows[slot] == low && highs[slot] == high) {
+                    referenced[slot] = true;
+                    hits.increment();
+                    return values[slot];
+                }
+            }
+        }
+        misses.increment();
+        return MISS;
+    }
+
+    @Override
+    public void put(Puzzle puzzle, int value) {
+        if (!puzzle.hasPackedKey()) {
+            return;
+        }
+        long low = puzzle.getPackedLow();
+        long high = puzzle.getPackedHigh();
+        int bucket = bucket(low, high);
+        int first = bucket * WAYS;
+        synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+            for (int slot = first; slot < first + WAYS; slot++) {
+                if (values[slot] == MISS || (lows[slot] == low && highs[slot] == high)) {
+                    store(slot, low, high, value);
+                    return;
+                }
+            }
+            // Sweep the hand, clearing reference bits, until an unreferenced slot turns up
+            while (true) {
+                int slot = first + clockHands[bucket];
+                clockHands[bucket] = (clockHands[bucket] + 1) % WAYS;
+                if (!referenced[slot]) {
+                    store(slot, low, high, value);
+                    return;
+                }
+                referenced[slot] = false;
+            }
+        }
+    }
+
+    private void store(int slot, long low, long high, int value) {
+        lows[slot] = low;
+        highs[slot] = high;
+        values[slot] = value;
+        referenced[slot] = false;
+    }
+
+    @Override
+    public void clear() {
+        for (int bucket = 0; bucket <= bucketMask; bucket++) {
+            synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+                Arrays.fill(values, bucket * WAYS, (bucket + 1) * WAYS, MISS);
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int value : values) {
+            if (value != MISS) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+}
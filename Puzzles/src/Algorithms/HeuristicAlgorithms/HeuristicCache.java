@@ -0,0 +1,54 @@
+package Algorithms.HeuristicAlgorithms;
+
+import Puzzles.Puzzle;
+
+public interface HeuristicCache {
+    int MISS = -1;
+    int DEFAULT_CAPACITY = 1 << 18;
+
+    // Cached value of the board, or MISS
+    int get(Puzzle puzzle);
+    void put(Puzzle puzzle, int value);
+    void clear();
+    int size();
+    long getHits();
+    long getMisses();
+
+    default double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups == 0 ? 0 : (double) getHits() / lookups;
+    }
+
+    // A cache that never stores anything
+    static HeuristicCache disabled() {
+        return new HeuristicCache() {
+            @Override
+            public int get(Puzzle puzzle) {
+                return MISS;
+            }
+
+            @Override
+            public void put(Puzzle puzzle, int value) {
+            }
+
+            @Override
+            public void clear() {
+            }
+
+            @Override
+            public int size() {
+                return 0;
+            }
+
+            @Override
+            public long getHits() {
+                return 0;
+            }
+
+            @Override
+            public long getMisses() {
+                return 0;
+            }
+        };
+    }
+}
@@ -1,71 +1,86 @@
 package Algorithms.HeuristicAlgorithms;
 
-import java.util.*;
-
 import Puzzles.Puzzle;
 
 public class InversionsHeuristic implements PuzzleHeuristic {
-    private Map<Puzzle, Integer> heuristicCache = new HashMap<>();
-    private static InversionsHeuristic instance = null;
+    private volatile HeuristicCache heuristicCache;
 
     public InversionsHeuristic() {
-        this.heuristicCache = new HashMap<>();
+        this.heuristicCache = new ClockHeuristicCache(HeuristicCache.DEFAULT_CAPACITY);
+    }
+
+    public HeuristicCache getCache() {
+        return heuristicCache;
+    }
+
+    public void setCache(HeuristicCache heuristicCache) {
+        this.heuristicCache = heuristicCache;
+    }
+
+    private static final class Holder {
+        // Lazily created so that PuzzleHeuristic.Permutations_Inversions is never read half-initialized
+        static final InversionsHeuristic INSTANCE = new InversionsHeuristic();
     }
 
     public static InversionsHeuristic get() {
-        if (instance == null)
-            instance = new InversionsHeuristic();
-        return instance;
+        return Holder.INSTANCE;
     }
 
     @Override
     public double calculate(Puzzle puzzle) {
         // Check if the heuristic value is already in the cache
-        if (heuristicCache.containsKey(puzzle)) {
-            return heuristicCache.get(puzzle);
+        int cached = heuristicCache.get(puzzle);
+        if (cached != HeuristicCache.MISS) {
+            return cached;
         }
+        int inversions = countInversions(puzzle);
 
-        int size = puzzle.size();
-        int[] flattenedArray = new int[size * size];
-        int index = 0;
-
-        // Flatten the 2D array into a 1D array
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                flattenedArray[index] = puzzle.getBoard()[i][j];
-                index++;
-            }
-        }
+        // Cache the computed heuristic value
+        heuristicCache.put(puzzle, inversions);
+        return inversions;
+    }
 
+    @Override
+    public double estimate(Puzzle puzzle) {
+        return countInversions(puzzle);
+    }
 
-        // Count inversions
-        int inversions = 0;
-        for (int i = 0; i < size * size - 1; i++) {
-            // Check if the last element is 0
-            if (flattenedArray[i] == 0) {
-                inversions += (size * size - 1 - i);
-                // break;
-            }
-            for (int j = i + 1; j < size * size; j++) {
-                if (flattenedArray[j] != 0 && flattenedArray[i] > flattenedArray[j]) {
-                    // Count inversions where 0 is not involved
-                    inversions++;
-                }
-            }
+    @Override
+    public double update(Puzzle puzzle, double parentValue, int move, int movedTile) {
+        // The tile moved from the new empty position to the old one; the empty space counts
+        // (size * size - 1 - index) inversions, which changes by the index shift
+        int size = puzzle.size();
+        int from = puzzle.getEmptyRow() * size + puzzle.getEmptyCol();
+        int shift = Puzzle.rowOffset(move) * size + Puzzle.colOffset(move);
+        int to = from - shift;
+        double value = parentValue - shift;
 
+        // A vertical move also reorders the tile relative to the size - 1 tiles it jumped over
+        for (int position = Math.min(from, to) + 1; position < Math.max(from, to); position++) {
+            int jumped = puzzle.getTile(position);
+            boolean wasInversion = from < to ? movedTile > jumped : jumped > movedTile;
+            value += wasInversion ? -1 : 1;
         }
+        return value;
+    }
 
-        // Cache the computed heuristic value
-        heuristicCache.put(puzzle, inversions);
-        return inversions;
+    private int countInversions(Puzzle puzzle) {
+        int size = puzzle.size();
+        int emptyPosition = puzzle.getEmptyRow() * size + puzzle.getEmptyCol();
+
+        // Tile inversions in O(n log n), plus every later position for the empty space
+        return (int) puzzle.countTileInversions() + (size * size - 1 - emptyPosition);
+    }
+
+    @Override
+    public boolean isIntegerValued() {
+        return true;
     }
 
     @Override
     public void printCache() {
-        // Print cached sequences
-        heuristicCache.forEach((k, v) -> {
-            System.out.println("Puzzle:\n" + k);
-            System.out.println("Permutations inversions: " + v + "\n");
-        });
+        // Print cache occupancy and effectiveness
+        System.out.println("Permutations inversions cache: " + heuristicCache.size() + " entries, "
+                + heuristicCache.getHits() + " hits, " + heuristicCache.getMisses() + " misses");
     }
 }
@@ -0,0 +1,218 @@
+package Algorithms.HeuristicAlgorithms;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import Puzzles.Puzzle;
+
+public class LinearConflictHeuristic implements PuzzleHeuristic {
+    // Manhattan distance plus 2 for every tile that has to leave its goal row or column to let another tile
+    // past. Per line that is the number of its own tiles outside the longest increasing run of goal positions
+    private static final int MAX_TABLE_SIZE = 7; // Larger boards compute the conflicts without a table
+    private volatile HeuristicCache heuristicCache;
+    // Extra moves for a line, indexed by its code, per board size
+    private static final Map<Integer, byte[]> conflictTables = new ConcurrentHashMap<>();
+
+    public LinearConflictHeuristic() {
+        this.heuristicCache = new ClockHeuristicCache(HeuristicCache.DEFAULT_CAPACITY);
+    }
+
+    public HeuristicCache getCache() {
+        return heuristicCache;
+    }
+
+    public void setCache(HeuristicCache heuristicCache) {
+        this.heuristicCache = heuristicCache;
+    }
+
+    private static final class Holder {
+        // Created on first use, not while this class initializes, so PuzzleHeuristic.Linear_Conflict is never null
+        static final LinearConflictHeuristic INSTANCE = new LinearConflictHeuristic();
+    }
+
+    public static LinearConflictHeuristic get() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public double calculate(Puzzle puzzle) {
+        // Check if the heuristic value is already in the cache
+        int cached = heuristicCache.get(puzzle);
+        if (cached != HeuristicCache.MISS) {
+            return cached;
+        }
+        int value = linearConflict(puzzle);
+
+        // Cache the computed heuristic value
+        heuristicCache.put(puzzle, value);
+        return value;
+    }
+
+    @Override
+    public double estimate(Puzzle puzzle) {
+        return linearConflict(puzzle);
+    }
+
+    @Override
+    public double update(Puzzle puzzle, double parentValue, int move, int movedTile) {
+        // A horizontal move keeps the order inside the tile's row but changes two columns, and vice versa.
+        // The parent's line differs from the child's only in the two cells the tile moved between
+        int size = puzzle.size();
+        if (size > MAX_TABLE_SIZE) {
+            return estimate(puzzle);
+        }
+        byte[] conflicts = conflictTable(size);
+        int fromRow = puzzle.getEmptyRow();
+        int fromCol = puzzle.getEmptyCol();
+        int toRow = fromRow - Puzzle.rowOffset(move);
+        int toCol = fromCol - Puzzle.colOffset(move);
+        int goalRow = (movedTile - 1) / size;
+        int goalCol = (movedTile - 1) % size;
+        double value = parentValue + Math.abs(toRow - goalRow) + Math.abs(toCol - goalCol)
+                - Math.abs(fromRow - goalRow) - Math.abs(fromCol - goalCol);
+
+        boolean horizontal = fromRow == toRow;
+        int fromLine = horizontal ? fromCol : fromRow;
+        int toLine = horizontal ? toCol : toRow;
+        int position = horizontal ? fromRow : fromCol; // Index of the tile along the two changed lines
+        int goalLine = horizontal ? goalCol : goalRow;
+        int digit = (horizontal ? goalRow : goalCol) + 1;
+        int place = pow(size + 1, position);
+        int fromCode = lineCode(puzzle, fromLine, !horizontal);
+        int toCode = lineCode(puzzle, toLine, !horizontal);
+        // In the parent the tile sat on the from line, in the child it sits on the to line
+        int parentFromCode = fromCode + (goalLine == fromLine ? digit * place : 0);
+        int parentToCode = toCode - (goalLine == toLine ? digit * place : 0);
+        return value + conflicts[fromCode] + conflicts[toCode] - conflicts[parentFromCode] - conflicts[parentToCode];
+    }
+
+    private static int linearConflict(Puzzle puzzle) {
+        int size = puzzle.size();
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int tile = puzzle.getTile(i, j);
+                if (tile != 0) {
+                    value += Math.abs(i - (tile - 1) / size) + Math.abs(j - (tile - 1) % size);
+                }
+            }
+        }
+        if (size > MAX_TABLE_SIZE) {
+            int[] goals = new int[size];
+            for (int line = 0; line < size; line++) {
+                value += lineConflict(lineGoals(puzzle, line, true, goals), size)
+                        + lineConflict(lineGoals(puzzle, line, false, goals), size);
+            }
+            return value;
+        }
+        byte[] conflicts = conflictTable(size);
+        for (int line = 0; line < size; line++) {
+            value += conflicts[lineCode(puzzle, line, true)] + conflicts[lineCode(puzzle, line, false)];
+        }
+        return value;
+    }
+
+    private static int lineCode(Puzzle puzzle, int line, boolean row) {
+        // Base (size + 1) digits, one per cell of the line: 1 + the tile's goal index along the line when the
+        // tile belongs to this line, 0 otherwise (including the empty space)
+        int size = puzzle.size();
+        int code = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int tile = row ? puzzle.getTile(line, i) : puzzle.getTile(i, line);
+            int digit = 0;
+            if (tile != 0) {
+                int goalRow = (tile - 1) / size;
+                int goalCol = (tile - 1) % size;
+                if ((row ? goalRow : goalCol) == line) {
+                    digit = (row ? goalCol : goalRow) + 1;
+                }
+            }
+            code = code * (size + 1) + digit;
+        }
+        return code;
+    }
+
+    private static int[] lineGoals(Puzzle puzzle, int line, boolean row, int[] goals) {
+        // The same digits as lineCode, unpacked into an array
+        int size = puzzle.size();
+        for (int i = 0; i < size; i++) {
+            int tile = row ? puzzle.getTile(line, i) : puzzle.getTile(i, line);
+            goals[i] = 0;
+            if (tile != 0 && (row ? (tile - 1) / size : (tile - 1) % size) == line) {
+                goals[i] = (row ? (tile - 1) % size : (tile - 1) / size) + 1;
+            }
+        }
+        return goals;
+    }
+
+    private static int lineConflict(int[] goals, int length) {
+        // 2 * (tiles of the line - longest strictly increasing run of their goal indexes)
+        int[] tails = new int[length];
+        int tiles = 0;
+        int longest = 0;
+        for (int i = 0; i < length; i++) {
+            int goal = goals[i];
+            if (goal == 0) {
+                continue;
+            }
+            tiles++;
+            int low = 0;
+            int high = longest;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (tails[middle] < goal) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            tails[low] = goal;
+            if (low == longest) {
+                longest++;
+            }
+        }
+        return 2 * (tiles - longest);
+    }
+
+    private static byte[] conflictTable(int size) {
+        return conflictTables.computeIfAbsent(size, boardSize -> {
+            int base = boardSize + 1;
+            byte[] table = new byte[pow(base, boardSize)];
+            int[] goals = new int[boardSize];
+            for (int code = 0; code < table.length; code++) {
+                int rest = code;
+                for (int i = 0; i < boardSize; i++) {
+                    goals[i] = rest % base;
+                    rest /= base;
+                }
+                table[code] = (byte) lineConflict(goals, boardSize);
+            }
+            return table;
+        });
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isIntegerValued() {
+        return true;
+    }
+
+    @Override
+    public boolean isAdmissible() {
+        return true;
+    }
+
+    @Override
+    public void printCache() {
+        // Print cache occupancy and effectiveness
+        System.out.println("Linear Conflict cache: " + heuristicCache.size() + " entries, "
+                + heuristicCache.getHits() + " hits, " + heuristicCache.getMisses() + " misses");
+    }
+}
@@ -1,54 +1,111 @@
 package Algorithms.HeuristicAlgorithms;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import Puzzles.Puzzle;
 
 public class ManhattanDistanceHeuristic implements PuzzleHeuristic {
-    private Map<Puzzle, Integer> heuristicCache;
-    private static ManhattanDistanceHeuristic instance = null;
+    private volatile HeuristicCache heuristicCache;
+    // Goal row and column of every tile, per board size
+    private static final Map<Integer, int[][]> goalTables = new ConcurrentHashMap<>();
 
     public ManhattanDistanceHeuristic(){
-        this.heuristicCache = new HashMap<>();
+        this.heuristicCache = new ClockHeuristicCache(HeuristicCache.DEFAULT_CAPACITY);
+    }
+
+    public HeuristicCache getCache() {
+        return heuristicCache;
+    }
+
+    public void setCache(HeuristicCache heuristicCache) {
+        this.heuristicCache = heuristicCache;
+    }
+
+    private static final class Holder {
+        // Created on first use, so concurrent callers of get() share one instance; an eager field would be read
+        // by PuzzleHeuristic's constants while this class is still being initialized, and stay null there
+        static final ManhattanDistanceHeuristic INSTANCE = new ManhattanDistanceHeuristic();
     }
 
     public static ManhattanDistanceHeuristic get() {
-        if (instance == null)
-            instance = new ManhattanDistanceHeuristic();
-        return instance;
+        return Holder.INSTANCE;
     }
 
     @Override
     public double calculate(Puzzle puzzle) {
         // Check if the heuristic value is already in the cache
-        if (heuristicCache.containsKey(puzzle)) {
-            return heuristicCache.get(puzzle);
+        int cached = heuristicCache.get(puzzle);
+        if (cached != HeuristicCache.MISS) {
+            return cached;
         }
+        int distance = manhattanDistance(puzzle);
+
+        // Cache the computed heuristic value
+        heuristicCache.put(puzzle, distance);
+        return distance;
+    }
+
+    @Override
+    public double estimate(Puzzle puzzle) {
+        return manhattanDistance(puzzle);
+    }
+
+    @Override
+    public double update(Puzzle puzzle, double parentValue, int move, int movedTile) {
+        // Only the moved tile changed position: from the new empty space to the old one
+        int[][] goal = goalTable(puzzle.size());
+        int fromRow = puzzle.getEmptyRow();
+        int fromCol = puzzle.getEmptyCol();
+        int toRow = fromRow - Puzzle.rowOffset(move);
+        int toCol = fromCol - Puzzle.colOffset(move);
+        int goalRow = goal[0][movedTile];
+        int goalCol = goal[1][movedTile];
+        return parentValue + Math.abs(toRow - goalRow) + Math.abs(toCol - goalCol)
+                - Math.abs(fromRow - goalRow) - Math.abs(fromCol - goalCol);
+    }
+
+    private int manhattanDistance(Puzzle puzzle) {
         int distance = 0;
         int size = puzzle.size();
+        int[][] goal = goalTable(size);
 
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                int value = puzzle.getBoard()[i][j];
+                int value = puzzle.getTile(i, j);
                 if (value != 0) {
-                    int[] goalCoordinates = puzzle.getGoalCoordinates(value);
-                    distance += Math.abs(i - goalCoordinates[0]) + Math.abs(j - goalCoordinates[1]);
+                    distance += Math.abs(i - goal[0][value]) + Math.abs(j - goal[1][value]);
                 }
             }
         }
-
-        // Cache the computed heuristic value
-        heuristicCache.put(puzzle, distance);
         return distance;
     }
 
+    private static int[][] goalTable(int size) {
+        return goalTables.computeIfAbsent(size, boardSize -> {
+            int[][] table = new int[2][boardSize * boardSize];
+            for (int value = 1; value < boardSize * boardSize; value++) {
+                table[0][value] = (value - 1) / boardSize;
+                table[1][value] = (value - 1) % boardSize;
+            }
+            return table;
+        });
+    }
+
+    @Override
+    public boolean isIntegerValued() {
+        return true;
+    }
+
+    @Override
+    public boolean isAdmissible() {
+        return true;
+    }
+
     @Override
     public void printCache() {
-        // Print cached sequences
-        heuristicCache.forEach((k, v) -> {
-            System.out.println("Puzzle:\n" + k);
-            System.out.println("Manhattan Distance: " + v+"\n");
-        });
+        // Print cache occupancy and effectiveness
+        System.out.println("Manhattan Distance cache: " + heuristicCache.size() + " entries, "
+                + heuristicCache.getHits() + " hits, " + heuristicCache.getMisses() + " misses");
     }
 }
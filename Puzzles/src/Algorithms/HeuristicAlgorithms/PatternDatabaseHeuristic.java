@@ -0,0 +1,438 @@
+package Algorithms.HeuristicAlgorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import Puzzles.Puzzle;
+
+public class PatternDatabaseHeuristic implements PuzzleHeuristic {
+    private static final int MAGIC = 0x50444231; // "PDB1"
+    private static final byte UNKNOWN = (byte) 0xFF;
+
+    // Disjoint tile partitions (Korf & Felner)
+    public static final int[][] EIGHT_PUZZLE_4_4 = { { 1, 2, 3, 4 }, { 5, 6, 7, 8 } };
+    public static final int[][] FIFTEEN_PUZZLE_5_5_5 = { { 1, 2, 3, 4, 7 }, { 5, 6, 9, 10, 13 }, { 8, 11, 12, 14, 15 } };
+    public static final int[][] FIFTEEN_PUZZLE_7_8 = { { 1, 2, 3, 4, 5, 6, 7 }, { 8, 9, 10, 11, 12, 13, 14, 15 } };
+    public static final int[][] TWENTY_FOUR_PUZZLE_6_6_6_6 = { { 1, 2, 5, 6, 7, 12 }, { 3, 4, 8, 9, 13, 14 },
+            { 10, 11, 15, 16, 20, 21 }, { 17, 18, 19, 22, 23, 24 } };
+
+    // Databases of the shared instance, per board size; they are built or loaded on first use
+    private static final Path DEFAULT_DIRECTORY = Paths.get("pdb");
+    private static final Map<Integer, PuzzleHeuristic> defaultDatabases = new ConcurrentHashMap<>();
+    // Scratch arrays for calculate, per thread since searches share one instance
+    private static final ThreadLocal<int[][]> scratch = ThreadLocal.withInitial(() -> new int[2][64]);
+
+    private final int size;
+    private final int cells;
+    private final int[][] patterns;
+    private final ByteBuffer[] tables; // Memory-mapped distance table per pattern, indexed by rank
+
+    private PatternDatabaseHeuristic() {
+        // The shared instance, which holds no database itself and picks one by board size
+        this.size = 0;
+        this.cells = 0;
+        this.patterns = null;
+        this.tables = null;
+    }
+
+    private static final class Holder {
+        // Created on first use; no database is built until a board is evaluated
+        static final PatternDatabaseHeuristic INSTANCE = new PatternDatabaseHeuristic();
+    }
+
+    public static PatternDatabaseHeuristic get() {
+        return Holder.INSTANCE;
+    }
+
+    public PatternDatabaseHeuristic(int size, int[][] patterns, Path file) {
+        // Load the databases from the file, building and saving them first if needed
+        this.size = size;
+        this.cells = size * size;
+        this.patterns = validatePatterns(size, patterns);
+        try {
+            if (!matchesHeader(file)) {
+                save(file, build());
+            }
+            this.tables = load(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load pattern database " + file, e);
+        }
+    }
+
+    private static int[][] validatePatterns(int size, int[][] patterns) {
+        int cells = size * size;
+        if (cells > 64) {
+            throw new IllegalArgumentException("Pattern databases support boards up to 8x8");
+        }
+        boolean[] used = new boolean[cells];
+        int[][] copy = new int[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            copy[p] = patterns[p].clone();
+            if (tableSize(cells, copy[p].length) > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Pattern " + Arrays.toString(copy[p]) + " is too large");
+            }
+            for (int tile : copy[p]) {
+                // Patterns must be disjoint for their distances to be additive
+                if (tile <= 0 || tile >= cells || used[tile]) {
+                    throw new IllegalArgumentException("Invalid or overlapping pattern tile: " + tile);
+                }
+                used[tile] = true;
+            }
+        }
+        return copy;
+    }
+
+    private static long tableSize(int cells, int tiles) {
+        // Number of ways to place the pattern tiles on the board
+        long tableSize = 1;
+        for (int i = 0; i < tiles; i++) {
+            tableSize *= cells - i;
+        }
+        return tableSize;
+    }
+
+    private static PuzzleHeuristic defaultDatabase(int size) {
+        // The 8-puzzle and 15-puzzle databases take a few megabytes and build in seconds. Larger boards use linear
+        // conflict instead, since the 24-puzzle partition needs gigabytes to build
+        return defaultDatabases.computeIfAbsent(size, boardSize -> {
+            switch (boardSize) {
+                case 3:
+                    return new PatternDatabaseHeuristic(3, EIGHT_PUZZLE_4_4, DEFAULT_DIRECTORY.resolve("8-puzzle-4-4.pdb"));
+                case 4:
+                    return new PatternDatabaseHeuristic(4, FIFTEEN_PUZZLE_5_5_5,
+                            DEFAULT_DIRECTORY.resolve("15-puzzle-5-5-5.pdb"));
+                default:
+                    return LinearConflictHeuristic.get();
+            }
+        });
+    }
+
+    @Override
+    public double calculate(Puzzle puzzle) {
+        if (patterns == null) {
+            return defaultDatabase(puzzle.size()).calculate(puzzle);
+        }
+        if (puzzle.size() != size) {
+            throw new IllegalArgumentException("Pattern database built for size " + size + ", got " + puzzle.size());
+        }
+        int[][] arrays = scratch.get();
+        int[] cellOfTile = arrays[0];
+        for (int position = 0; position < cells; position++) {
+            cellOfTile[puzzle.getTile(position)] = position;
+        }
+
+        // Distances count only moves of each pattern's own tiles, so they add up admissibly
+        int distance = 0;
+        int[] positions = arrays[1];
+        for (int p = 0; p < patterns.length; p++) {
+            for (int i = 0; i < patterns[p].length; i++) {
+                positions[i] = cellOfTile[patterns[p][i]];
+            }
+            distance += tables[p].get(rank(positions, patterns[p].length));
+        }
+        return distance;
+    }
+
+    @Override
+    public double estimate(Puzzle puzzle) {
+        // Nothing is cached, so the board can be evaluated directly
+        if (patterns == null) {
+            return defaultDatabase(puzzle.size()).estimate(puzzle);
+        }
+        return calculate(puzzle);
+    }
+
+    @Override
+    public double update(Puzzle puzzle, double parentValue, int move, int movedTile) {
+        // The linear conflict fallback updates incrementally; a database lookup is cheap enough as it is
+        if (patterns == null) {
+            return defaultDatabase(puzzle.size()).update(puzzle, parentValue, move, movedTile);
+        }
+        return calculate(puzzle);
+    }
+
+    private int rank(int[] positions, int tiles) {
+        // Mixed-radix rank of a partial permutation: digit i skips the cells taken by earlier tiles
+        long taken = 0;
+        int rank = 0;
+        for (int i = 0; i < tiles; i++) {
+            int digit = positions[i] - Long.bitCount(taken & ((1L << positions[i]) - 1));
+            rank = rank * (cells - i) + digit;
+            taken |= 1L << positions[i];
+        }
+        return rank;
+    }
+
+    private void unrank(int rank, int[] positions, int tiles) {
+        int[] digits = new int[tiles];
+        for (int i = tiles - 1; i >= 0; i--) {
+            digits[i] = rank % (cells - i);
+            rank /= cells - i;
+        }
+        long taken = 0;
+        for (int i = 0; i < tiles; i++) {
+            // The digit-th free cell
+            long free = ~taken & (cells == 64 ? -1L : (1L << cells) - 1);
+            for (int skip = 0; skip < digits[i]; skip++) {
+                free &= free - 1;
+            }
+            positions[i] = Long.numberOfTrailingZeros(free);
+            taken |= 1L << positions[i];
+        }
+    }
+
+    private byte[][] build() {
+        byte[][] databases = new byte[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            databases[p] = buildPattern(patterns[p]);
+        }
+        return databases;
+    }
+
+    private byte[] buildPattern(int[] pattern) {
+        // Backward breadth-first search from the goal over (pattern placement, blank region) states.
+        // Non-pattern tiles move for free, so the blank is only tracked by its connected region,
+        // identified by the lowest cell in it; every remaining transition moves a pattern tile.
+        int tiles = pattern.length;
+        int tableSize = (int) tableSize(cells, tiles);
+        byte[] database = new byte[tableSize];
+        Arrays.fill(database, UNKNOWN);
+        long[] visited = new long[(int) (((long) tableSize * cells + 63) >>> 6)];
+
+        int[] positions = new int[tiles];
+        for (int i = 0; i < tiles; i++) {
+            positions[i] = pattern[i] - 1; // Goal cell of the tile
+        }
+        long patternCells = occupiedCells(positions, tiles);
+        int startRank = rank(positions, tiles);
+        int startRegion = Long.numberOfTrailingZeros(blankRegion(cells - 1, patternCells));
+        long startState = (long) startRank * cells + startRegion;
+        visited[(int) (startState >>> 6)] |= 1L << startState;
+        database[startRank] = 0;
+
+        LongQueue frontier = new LongQueue();
+        LongQueue nextFrontier = new LongQueue();
+        frontier.add(startState);
+        for (int depth = 0; !frontier.isEmpty(); depth++) {
+            for (int index = 0; index < frontier.size(); index++) {
+                long state = frontier.get(index);
+                unrank((int) (state / cells), positions, tiles);
+                patternCells = occupiedCells(positions, tiles);
+                long region = blankRegion((int) (state % cells), patternCells);
+
+                for (int i = 0; i < tiles; i++) {
+                    int from = positions[i];
+                    long targets = neighbors(from) & region;
+                    while (targets != 0) {
+                        int to = Long.numberOfTrailingZeros(targets);
+                        targets &= targets - 1;
+
+                        // The tile slides into the blank region and leaves the blank behind
+                        positions[i] = to;
+                        long movedCells = patternCells ^ (1L << from) ^ (1L << to);
+                        int nextRank = rank(positions, tiles);
+                        int nextRegion = Long.numberOfTrailingZeros(blankRegion(from, movedCells));
+                        long nextState = (long) nextRank * cells + nextRegion;
+                        if ((visited[(int) (nextState >>> 6)] & (1L << nextState)) == 0) {
+                            visited[(int) (nextState >>> 6)] |= 1L << nextState;
+                            if (database[nextRank] == UNKNOWN) {
+                                database[nextRank] = (byte) (depth + 1);
+                            }
+                            nextFrontier.add(nextState);
+                        }
+                    }
+                    positions[i] = from;
+                }
+            }
+            LongQueue swap = frontier;
+            frontier = nextFrontier;
+            nextFrontier = swap;
+            nextFrontier.clear();
+        }
+        return database;
+    }
+
+    private static long occupiedCells(int[] positions, int tiles) {
+        long occupied = 0;
+        for (int i = 0; i < tiles; i++) {
+            occupied |= 1L << positions[i];
+        }
+        return occupied;
+    }
+
+    private long neighbors(int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        long neighbors = 0;
+        if (row > 0)
+            neighbors |= 1L << (cell - size);
+        if (row < size - 1)
+            neighbors |= 1L << (cell + size);
+        if (col > 0)
+            neighbors |= 1L << (cell - 1);
+        if (col < size - 1)
+            neighbors |= 1L << (cell + 1);
+        return neighbors;
+    }
+
+    private long blankRegion(int blankCell, long patternCells) {
+        // Flood fill the cells the blank can reach without moving a pattern tile
+        long region = 1L << blankCell;
+        long frontier = region;
+        while (frontier != 0) {
+            int cell = Long.numberOfTrailingZeros(frontier);
+            frontier &= frontier - 1;
+            long reached = neighbors(cell) & ~patternCells & ~region;
+            region |= reached;
+            frontier |= reached;
+        }
+        return region;
+    }
+
+    private boolean matchesHeader(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long expectedLength = headerLength();
+            for (int[] pattern : patterns) {
+                expectedLength += tableSize(cells, pattern.length);
+            }
+            if (channel.size() != expectedLength) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(headerLength()).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.read(header, 0) != header.capacity()) {
+                return false;
+            }
+            header.flip();
+            return Arrays.equals(header.array(), header().array());
+        }
+    }
+
+    private int headerLength() {
+        int length = 3 * Integer.BYTES;
+        for (int[] pattern : patterns) {
+            length += (pattern.length + 1) * Integer.BYTES;
+        }
+        return length;
+    }
+
+    private ByteBuffer header() {
+        // Magic, board size and the tiles of every pattern
+        ByteBuffer header = ByteBuffer.allocate(headerLength()).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(size).putInt(patterns.length);
+        for (int[] pattern : patterns) {
+            header.putInt(pattern.length);
+            for (int tile : pattern) {
+                header.putInt(tile);
+            }
+        }
+        header.flip();
+        return header;
+    }
+
+    private void save(Path file, byte[][] databases) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        // Write to a temporary file first so an interrupted build never leaves a valid-looking header
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header());
+            for (byte[] database : databases) {
+                writeFully(channel, ByteBuffer.wrap(database));
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private ByteBuffer[] load(Path file) throws IOException {
+        ByteBuffer[] mapped = new ByteBuffer[patterns.length];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long offset = headerLength();
+            for (int p = 0; p < patterns.length; p++) {
+                long length = tableSize(cells, patterns[p].length);
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                mapped[p] = table;
+                offset += length;
+            }
+        }
+        return mapped;
+    }
+
+    @Override
+    public boolean isIntegerValued() {
+        return true;
+    }
+
+    @Override
+    public boolean isAdmissible() {
+        return true;
+    }
+
+    @Override
+    public void printCache() {
+        // Databases are precomputed, print the partition instead of cached values
+        if (patterns == null) {
+            for (PuzzleHeuristic database : defaultDatabases.values()) {
+                database.printCache();
+            }
+            return;
+        }
+        for (int[] pattern : patterns) {
+            System.out.println("Pattern " + Arrays.toString(pattern) + ": "
+                    + tableSize(cells, pattern.length) + " entries");
+        }
+    }
+
+    private static class LongQueue {
+        // Growable array of BFS states, avoiding a boxed Long per state
+        private long[] elements = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, elements.length * 2);
+            }
+            elements[size++] = value;
+        }
+
+        long get(int index) {
+            return elements[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
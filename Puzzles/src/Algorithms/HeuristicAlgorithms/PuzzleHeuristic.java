@@ -6,8 +6,31 @@ public interface PuzzleHeuristic {
     double calculate(Puzzle puzzle);
     void printCache();
 
+    // Evaluate a board that the caller keeps modifying in place (IDA*), so it must not be cached
+    default double estimate(Puzzle puzzle) {
+        return calculate(new Puzzle(puzzle));
+    }
+
+    // Integer-valued heuristics let A* use a bucketed open list instead of a binary heap
+    default boolean isIntegerValued() {
+        return false;
+    }
+
+    // Admissible heuristics never overestimate, so A* and IDA* return optimal solutions with them
+    default boolean isAdmissible() {
+        return false;
+    }
+
+    // Value of a child board given its parent's value, the move performed and the tile it moved
+    default double update(Puzzle puzzle, double parentValue, int move, int movedTile) {
+        return estimate(puzzle);
+    }
+
     // heuristic functions
     public static ZeroHeuristic Zero_Heuristic = ZeroHeuristic.get();
     public static ManhattanDistanceHeuristic Manhattan_Distance = ManhattanDistanceHeuristic.get();
     public static InversionsHeuristic Permutations_Inversions = InversionsHeuristic.get();
+    public static LinearConflictHeuristic Linear_Conflict = LinearConflictHeuristic.get();
+    public static WalkingDistanceHeuristic Walking_Distance = WalkingDistanceHeuristic.get();
+    public static PatternDatabaseHeuristic Pattern_Database = PatternDatabaseHeuristic.get();
 }
@@ -0,0 +1,197 @@
+package Algorithms.HeuristicAlgorithms;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import Puzzles.Puzzle;
+
+public class WalkingDistanceHeuristic implements PuzzleHeuristic {
+    // Walking distance: tiles are only told apart by their goal row, and the vertical moves needed to sort
+    // them into their goal rows are looked up in a table built by BFS; the same table, transposed, gives the
+    // horizontal moves. A row state is the count of tiles in each row per goal row, plus the empty space's row
+    private static final int MAX_SIZE = 4; // The 24-puzzle table takes too long to build, so larger boards use Manhattan
+    private static final int COUNT_BITS = 3;
+    private volatile HeuristicCache heuristicCache;
+    private static final Map<Integer, DistanceTable> distanceTables = new ConcurrentHashMap<>();
+
+    public WalkingDistanceHeuristic() {
+        this.heuristicCache = new ClockHeuristicCache(HeuristicCache.DEFAULT_CAPACITY);
+    }
+
+    public HeuristicCache getCache() {
+        return heuristicCache;
+    }
+
+    public void setCache(HeuristicCache heuristicCache) {
+        this.heuristicCache = heuristicCache;
+    }
+
+    private static final class Holder {
+        // Lazily created; an eager field would leave PuzzleHeuristic.Walking_Distance null if this class loads first
+        static final WalkingDistanceHeuristic INSTANCE = new WalkingDistanceHeuristic();
+    }
+
+    public static WalkingDistanceHeuristic get() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public double calculate(Puzzle puzzle) {
+        // Check if the heuristic value is already in the cache
+        int cached = heuristicCache.get(puzzle);
+        if (cached != HeuristicCache.MISS) {
+            return cached;
+        }
+        int distance = walkingDistance(puzzle);
+
+        // Cache the computed heuristic value
+        heuristicCache.put(puzzle, distance);
+        return distance;
+    }
+
+    @Override
+    public double estimate(Puzzle puzzle) {
+        return walkingDistance(puzzle);
+    }
+
+    private static int walkingDistance(Puzzle puzzle) {
+        int size = puzzle.size();
+        if (size > MAX_SIZE) {
+            return (int) ManhattanDistanceHeuristic.get().estimate(puzzle);
+        }
+        DistanceTable table = distanceTable(size);
+        int[] rowCounts = new int[size * size];
+        int[] colCounts = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int tile = puzzle.getTile(i, j);
+                if (tile != 0) {
+                    rowCounts[i * size + (tile - 1) / size]++;
+                    colCounts[j * size + (tile - 1) % size]++;
+                }
+            }
+        }
+        return table.distance(encode(rowCounts, puzzle.getEmptyRow(), size))
+                + table.distance(encode(colCounts, puzzle.getEmptyCol(), size));
+    }
+
+    private static long encode(int[] counts, int emptyLine, int size) {
+        // Only the top-left (size - 1) x (size - 1) counts are stored: every line and every goal line holds a
+        // known number of tiles, so the last count of each row and column follows from the others
+        long key = emptyLine;
+        for (int i = 0; i < size - 1; i++) {
+            for (int j = 0; j < size - 1; j++) {
+                key = (key << COUNT_BITS) | counts[i * size + j];
+            }
+        }
+        return key;
+    }
+
+    private static int[] decode(long key, int size) {
+        // Returns the full counts with the empty space's line appended
+        int[] counts = new int[size * size + 1];
+        for (int i = size - 2; i >= 0; i--) {
+            for (int j = size - 2; j >= 0; j--) {
+                counts[i * size + j] = (int) (key & ((1 << COUNT_BITS) - 1));
+                key >>>= COUNT_BITS;
+            }
+        }
+        int emptyLine = (int) key;
+        counts[size * size] = emptyLine;
+        for (int i = 0; i < size - 1; i++) {
+            int lineTiles = i == emptyLine ? size - 1 : size;
+            for (int j = 0; j < size - 1; j++) {
+                lineTiles -= counts[i * size + j];
+            }
+            counts[i * size + size - 1] = lineTiles;
+        }
+        for (int j = 0; j < size; j++) {
+            int goalTiles = j == size - 1 ? size - 1 : size;
+            for (int i = 0; i < size - 1; i++) {
+                goalTiles -= counts[i * size + j];
+            }
+            counts[(size - 1) * size + j] = goalTiles;
+        }
+        return counts;
+    }
+
+    private static DistanceTable distanceTable(int size) {
+        return distanceTables.computeIfAbsent(size, DistanceTable::new);
+    }
+
+    private static final class DistanceTable {
+        // Sorted state keys and their distances from the goal, searched by binary search
+        private final long[] keys;
+        private final byte[] distances;
+
+        DistanceTable(int size) {
+            // BFS from the goal: a move takes one tile from a row next to the empty space into its row
+            int[] goal = new int[size * size];
+            for (int i = 0; i < size; i++) {
+                goal[i * size + i] = i == size - 1 ? size - 1 : size;
+            }
+            Map<Long, Integer> found = new HashMap<>();
+            ArrayDeque<Long> queue = new ArrayDeque<>();
+            long start = encode(goal, size - 1, size);
+            found.put(start, 0);
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                long key = queue.poll();
+                int distance = found.get(key);
+                int[] counts = decode(key, size);
+                int emptyLine = counts[size * size];
+                for (int neighbour = emptyLine - 1; neighbour <= emptyLine + 1; neighbour += 2) {
+                    if (neighbour < 0 || neighbour >= size) {
+                        continue;
+                    }
+                    for (int goalLine = 0; goalLine < size; goalLine++) {
+                        if (counts[neighbour * size + goalLine] == 0) {
+                            continue;
+                        }
+                        counts[neighbour * size + goalLine]--;
+                        counts[emptyLine * size + goalLine]++;
+                        long next = encode(counts, neighbour, size);
+                        if (!found.containsKey(next)) {
+                            found.put(next, distance + 1);
+                            queue.add(next);
+                        }
+                        counts[emptyLine * size + goalLine]--;
+                        counts[neighbour * size + goalLine]++;
+                    }
+                }
+            }
+
+            this.keys = new long[found.size()];
+            int index = 0;
+            for (long key : found.keySet()) {
+                keys[index++] = key;
+            }
+            Arrays.sort(keys);
+            this.distances = new byte[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                distances[i] = (byte) (int) found.get(keys[i]);
+            }
+        }
+
+        int distance(long key) {
+            return distances[Arrays.binarySearch(keys, key)];
+        }
+    }
+
+    @Override
+    public boolean isIntegerValued() {
+        return true;
+    }
+
+    @Override
+    public boolean isAdmissible() {
+        return true;
+    }
+
+    @Override
+    public void printCache() {
+        // Print cache occupancy and effectiveness
+        System.out.println("Walking Distance cache: " + heuristicCache.size() + " entries, "
+                + heuristicCache.getHits() + " hits, " + heuristicCache.getMisses() + " misses");
+    }
+}
@@ -3,21 +3,38 @@ package Algorithms.HeuristicAlgorithms;
 import Puzzles.Puzzle;
 
 public class ZeroHeuristic implements PuzzleHeuristic {
-     private static ZeroHeuristic instance = null;
 
     public ZeroHeuristic(){}
     
+    private static final class Holder {
+        // Created on first use rather than while the class initializes (see ManhattanDistanceHeuristic)
+        static final ZeroHeuristic INSTANCE = new ZeroHeuristic();
+    }
+
     public static ZeroHeuristic get() {
-        if (instance == null)
-            instance = new ZeroHeuristic();
-        return instance;
+        return Holder.INSTANCE;
     }
         @Override
     public double calculate(Puzzle puzzle) {
         // Zero heuristic (always returns 0)
         return 0;
     }
+
+    @Override
+    public double estimate(Puzzle puzzle) {
+        return 0;
+    }
     
+    @Override
+    public boolean isIntegerValued() {
+        return true;
+    }
+
+    @Override
+    public boolean isAdmissible() {
+        return true;
+    }
+
     @Override
     public void printCache() {
     }
@@ -1,20 +1,28 @@
 import Puzzles.*;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import Algorithms.AlgorithmicPuzzleSolver.AlgorithmicPuzzleSolver;
+import Algorithms.AlgorithmicPuzzleSolver.ExternalMemoryBreadthFirstSearch;
 import Algorithms.HeuristicAlgorithms.InversionsHeuristic;
+import Algorithms.HeuristicAlgorithms.LinearConflictHeuristic;
 import Algorithms.HeuristicAlgorithms.ManhattanDistanceHeuristic;
 import Algorithms.HeuristicAlgorithms.PuzzleHeuristic;
+import Algorithms.HeuristicAlgorithms.WalkingDistanceHeuristic;
 import Algorithms.HeuristicAlgorithms.ZeroHeuristic;
 
 import java.util.Scanner;
 
 public class Main {
 
-    private static void AverageSolution(List<SolutionOutput> solutions, TimeUnit timeUnit) {
+    private static void AverageSolution(List<SolutionOutput> solutions, long wallTime, TimeUnit timeUnit) {
+        // wallTime covers the whole batch; the solve times of puzzles solved in parallel overlap, so their sum
+        // is reported separately
         int avgNumOfVertices = 0, avgMomvements = 0;
         long avgElapsedTime = 0;
         for (SolutionOutput solution : solutions) {
@@ -23,13 +31,15 @@ public class Main {
             avgMomvements += solution.getNumOfMovements();
         }
         int size = solutions.size();
-        long totalTime = avgElapsedTime;
+        long totalSolveTime = avgElapsedTime;
         avgElapsedTime /= size;
         avgNumOfVertices /= size;
         avgMomvements /= size;
 
         StringBuilder sb = new StringBuilder();
-        sb.append("Total time: " + SolutionOutput.getElapsedTime(timeUnit, totalTime) + "\n");
+        sb.append("Total time: " + SolutionOutput.getElapsedTime(timeUnit, wallTime) + "\n");
+        sb.append("Total solve time (summed over threads): " + SolutionOutput.getElapsedTime(timeUnit, totalSolveTime)
+                + "\n");
         sb.append("Average Number of vertices: " + SolutionOutput.getFormattedNumber(avgNumOfVertices) + "\n");
         sb.append("Average Time: " + SolutionOutput.getElapsedTime(timeUnit, avgElapsedTime) + " "
                 + timeUnit.name().toLowerCase()
@@ -51,40 +61,77 @@ public class Main {
 
             // Solve puzzles using each algorithm
             List<SolutionOutput> solutions = new ArrayList<>();
+            long batchStart;
             System.out.println("------------------------------------- BFS -------------------------------------");
-            for (int i = 0; i < numOfPuzzles; i++) {
-                // Solve the puzzle using BFS
-                solutions.add(AlgorithmSolution.breadthFirstSearch(randomPuzzles.get(i)));
-            }
+            // Solve the puzzles using BFS, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    AlgorithmSolution::breadthFirstSearch));
+            // Print solutions
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
+            solutions.clear();
+
+            System.out.println("------------------------------- Bidirectional BFS -------------------------------");
+            // Solve the puzzles using bidirectional BFS, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    AlgorithmSolution::bidirectionalBreadthFirstSearch));
             // Print solutions
-            AverageSolution(solutions, timeUnit);
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
             solutions.clear();
 
             System.out.println("----------------------------- AStar (Zero func) ------------------------------");
-            for (int i = 0; i < numOfPuzzles; i++) {
-                // Solve the puzzle using A* with zero heuristic
-                solutions.add(AlgorithmSolution.AStarSearch(randomPuzzles.get(i), PuzzleHeuristic.Zero_Heuristic));
-            }
+            // Solve the puzzles using A* with zero heuristic, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    puzzle -> AlgorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Zero_Heuristic)));
             // Print solutions
-            AverageSolution(solutions, timeUnit);
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
             solutions.clear();
 
             System.out.println("-----------------------------  AStar (Manhattan)  -----------------------------");
-            for (int i = 0; i < numOfPuzzles; i++) {
-                // Solve the puzzle using A* with Manhattan heuristic
-                solutions.add(AlgorithmSolution.AStarSearch(randomPuzzles.get(i), PuzzleHeuristic.Manhattan_Distance));
-            }
+            // Solve the puzzles using A* with Manhattan heuristic, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    puzzle -> AlgorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Manhattan_Distance)));
             // Print solutions
-            AverageSolution(solutions, timeUnit);
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
+            solutions.clear();
+
+            System.out.println("---------------------------  AStar (Linear conflict)  ---------------------------");
+            // Solve the puzzles using A* with linear conflict heuristic, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    puzzle -> AlgorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Linear_Conflict)));
+            // Print solutions
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
+            solutions.clear();
+
+            System.out.println("---------------------------  AStar (Walking distance)  --------------------------");
+            // Solve the puzzles using A* with walking distance heuristic, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    puzzle -> AlgorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Walking_Distance)));
+            // Print solutions
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
+            solutions.clear();
+
+            System.out.println("---------------------------  AStar (Pattern database)  ---------------------------");
+            // Solve the puzzles using A* with the pattern database heuristic, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    puzzle -> AlgorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Pattern_Database)));
+            // Print solutions
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
             solutions.clear();
 
             System.out.println("-------------------------- AStar (Permutation inversions) --------------------------");
-            for (int i = 0; i < numOfPuzzles; i++) {
-                // Solve the puzzle using A* with Permutation inversions heuristic
-                solutions.add(AlgorithmSolution.AStarSearch(randomPuzzles.get(i), PuzzleHeuristic.Permutations_Inversions));
-            }
+            // Solve the puzzles using A* with Permutation inversions heuristic, all puzzles in parallel
+            batchStart = System.nanoTime();
+            solutions.addAll(AlgorithmicPuzzleSolver.solveAll(randomPuzzles,
+                    puzzle -> AlgorithmSolution.AStarSearch(puzzle, PuzzleHeuristic.Permutations_Inversions)));
             // Print solutions
-            AverageSolution(solutions, timeUnit);
+            AverageSolution(solutions, System.nanoTime() - batchStart, timeUnit);
             solutions.clear();
 
         } catch (Exception e) {
@@ -99,6 +146,8 @@ public class Main {
             System.out.println("Choose an option:");
             System.out.println("1 - Interactively solve a 15-puzzle");
             System.out.println("2 - Run predefined tests");
+            System.out.println("3 - Solve a corpus file with A* (Linear conflict)");
+            System.out.println("4 - Count the boards at each distance from the goal (external-memory BFS)");
             int choice = scanner.nextInt();
             scanner.nextLine(); // Consume newline left-over
     
@@ -106,6 +155,14 @@ public class Main {
                 interactivelySolveFifteenPuzzle(scanner);
             } else if (choice == 2) {
                 runPredefinedTests();
+            } else if (choice == 3) {
+                System.out.println("Enter the corpus file path:");
+                solveCorpus(Paths.get(scanner.nextLine().trim()), TimeUnit.MILLISECONDS);
+            } else if (choice == 4) {
+                System.out.println("Enter the board size, the maximum depth and a work directory for the layer files:");
+                int size = scanner.nextInt();
+                int maxDepth = scanner.nextInt();
+                countLayers(size, maxDepth, Paths.get(scanner.nextLine().trim()));
             } else {
                 System.out.println("Invalid choice");
             }
@@ -113,6 +170,46 @@ public class Main {
             scanner.close();
         }
     
+        private static void countLayers(int size, int maxDepth, Path workDirectory) {
+            // Layers are kept on disk, so depths beyond what fits in memory can be counted
+            long startTime = System.nanoTime();
+            long[] layerSizes = new ExternalMemoryBreadthFirstSearch(workDirectory).layerSizes(new Puzzle(size, 0),
+                    maxDepth);
+            long total = 0;
+            for (int depth = 0; depth < layerSizes.length; depth++) {
+                System.out.println("Depth " + depth + ": " + SolutionOutput.getFormattedNumber(layerSizes[depth])
+                        + " boards");
+                total += layerSizes[depth];
+            }
+            System.out.println("Total: " + SolutionOutput.getFormattedNumber(total) + " boards in "
+                    + SolutionOutput.getElapsedTime(TimeUnit.SECONDS, System.nanoTime() - startTime) + " seconds");
+        }
+
+        private static void solveCorpus(Path file, TimeUnit timeUnit) {
+            // Solves the boards that have no result yet and records each result in the file as it completes
+            AlgorithmicPuzzleSolver algorithmSolution = new AlgorithmicPuzzleSolver();
+            try (PuzzleCorpus corpus = PuzzleCorpus.open(file)) {
+                long solved = 0, totalMoves = 0, totalExpanded = 0, totalTime = 0;
+                for (long i = 0; i < corpus.getCount(); i++) {
+                    if (!corpus.hasResult(i)) {
+                        corpus.setResult(i, algorithmSolution.AStarSearch(corpus.getPuzzle(i),
+                                PuzzleHeuristic.Linear_Conflict));
+                    }
+                    if (corpus.hasResult(i)) {
+                        solved++;
+                        totalMoves += corpus.getSolutionLength(i);
+                        totalExpanded += corpus.getExpandedNodes(i);
+                        totalTime += corpus.getElapsedTime(i);
+                    }
+                }
+                System.out.println("Solved " + solved + " of " + corpus.getCount() + " boards");
+                System.out.println("Total moves: " + SolutionOutput.getFormattedNumber(totalMoves)
+                        + ", expanded nodes: " + SolutionOutput.getFormattedNumber(totalExpanded)
+                        + ", time: " + SolutionOutput.getElapsedTime(timeUnit, totalTime) + " "
+                        + timeUnit.name().toLowerCase());
+            }
+        }
+
         private static void interactivelySolveFifteenPuzzle(Scanner scanner) {
             System.out.println("Enter '1' to manually fill the board, or '2' to generate a random board:");
             int subChoice = scanner.nextInt();
@@ -150,6 +247,15 @@ public class Main {
             System.out.println("2 - A* with Manhattan Distance");
             System.out.println("3 - A* with Inversion Heuristic");
             System.out.println("4 - A* with Zero Heuristic");
+            System.out.println("5 - IDA* with Manhattan Distance");
+            System.out.println("6 - Bidirectional BFS");
+            System.out.println("7 - Parallel A* with Manhattan Distance");
+            System.out.println("8 - A* with Linear Conflict");
+            System.out.println("9 - A* with Walking Distance");
+            System.out.println("10 - Anytime A* with Linear Conflict (5 second budget)");
+            System.out.println("11 - Constructive solver (fast, not optimal)");
+            System.out.println("12 - Breadth-first heuristic search with Linear Conflict (low memory)");
+            System.out.println("13 - A* with a pattern database (built in the pdb directory on first use)");
             int algoChoice = scanner.nextInt();
     
             AlgorithmicPuzzleSolver algorithmicPuzzleSolver = new AlgorithmicPuzzleSolver();
@@ -167,6 +273,35 @@ public class Main {
                 case 4:
                     solution = algorithmicPuzzleSolver.AStarSearch(puzzle15, new ZeroHeuristic());
                     break;
+                case 5:
+                    solution = algorithmicPuzzleSolver.iterativeDeepeningAStarSearch(puzzle15, new ManhattanDistanceHeuristic());
+                    break;
+                case 6:
+                    solution = algorithmicPuzzleSolver.bidirectionalBreadthFirstSearch(puzzle15);
+                    break;
+                case 7:
+                    solution = algorithmicPuzzleSolver.parallelAStarSearch(puzzle15, new ManhattanDistanceHeuristic());
+                    break;
+                case 8:
+                    solution = algorithmicPuzzleSolver.AStarSearch(puzzle15, new LinearConflictHeuristic());
+                    break;
+                case 9:
+                    solution = algorithmicPuzzleSolver.AStarSearch(puzzle15, new WalkingDistanceHeuristic());
+                    break;
+                case 10:
+                    solution = algorithmicPuzzleSolver.anytimeAStarSearch(puzzle15, new LinearConflictHeuristic(),
+                            Duration.ofSeconds(5));
+                    break;
+                case 11:
+                    solution = algorithmicPuzzleSolver.constructiveSearch(puzzle15);
+                    break;
+                case 12:
+                    solution = algorithmicPuzzleSolver.breadthFirstHeuristicSearch(puzzle15,
+                            new LinearConflictHeuristic());
+                    break;
+                case 13:
+                    solution = algorithmicPuzzleSolver.AStarSearch(puzzle15, PuzzleHeuristic.Pattern_Database);
+                    break;
                 default:
                     System.out.println("Invalid algorithm choice");
                     return;
@@ -1,24 +1,35 @@
 package Puzzles;
 
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Puzzle {
     private final int size;
-    private final int[][] board;
+    // Board cells packed row-major, bitsPerTile bits each: a 15-puzzle fits in low,
+    // a 24-puzzle in low+high, larger boards spill into overflow
+    private final int bitsPerTile;
+    private long low;
+    private long high;
+    private final long[] overflow;
     private int emptyRow;
     private int emptyCol;
-    // Moves
-    private static final int UP = 0;
-    private static final int DOWN = 1;
-    private static final int LEFT = 2;
-    private static final int RIGHT = 3;
+    private final int[][] legalMoves; // Shared per-size table: legal moves for each empty position
+    private static final Map<Integer, int[][]> legalMoveTables = new ConcurrentHashMap<>();
+    // Moves (a move and its opposite differ only in the lowest bit)
+    public static final int UP = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int RIGHT = 3;
 
     public Puzzle(int size, int[][] startingBoard) {
         // Initial with starting board
         this.size = size;
+        this.bitsPerTile = bitsPerTile(size);
+        this.overflow = newOverflow(size, bitsPerTile);
+        this.legalMoves = legalMoveTable(size);
         if (isBoardValid(startingBoard)) {
-            this.board = new int[size][size];
             initializeBoard(startingBoard);
         } else {
             throw new IllegalArgumentException("Invalid starting board");
@@ -28,22 +39,71 @@ public class Puzzle {
     public Puzzle(int size, int n) {
         // Initial starting board by perforimg random moves (n) from the solution board
         this.size = size;
-        this.board = new int[size][size];
+        this.bitsPerTile = bitsPerTile(size);
+        this.overflow = newOverflow(size, bitsPerTile);
+        this.legalMoves = legalMoveTable(size);
         initializeRandomBoard(n);
     }
 
     public Puzzle(Puzzle other) {
         // Copy constructor
         this.size = other.size;
-        this.board = new int[size][size];
+        this.bitsPerTile = other.bitsPerTile;
+        this.low = other.low;
+        this.high = other.high;
+        this.overflow = other.overflow != null ? other.overflow.clone() : null;
+        this.legalMoves = other.legalMoves;
         this.emptyRow = other.emptyRow;
         this.emptyCol = other.emptyCol;
+    }
 
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                this.board[i][j] = other.board[i][j];
-            }
+    private Puzzle(int size, long low, long high) {
+        // Rebuild a board from its packed key (boards of up to 128 bits only)
+        this.size = size;
+        this.bitsPerTile = bitsPerTile(size);
+        this.overflow = newOverflow(size, bitsPerTile);
+        this.legalMoves = legalMoveTable(size);
+        if (overflow != null) {
+            throw new IllegalArgumentException("Board of size " + size + " does not fit in a packed key");
         }
+        this.low = low;
+        this.high = high;
+        int emptyPosition = findTile(0);
+        this.emptyRow = emptyPosition / size;
+        this.emptyCol = emptyPosition % size;
+    }
+
+    public static Puzzle fromPackedKey(int size, long low, long high) {
+        return new Puzzle(size, low, high);
+    }
+
+    private static int bitsPerTile(int size) {
+        // Enough bits for the largest tile value (size * size - 1)
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(size * size - 1));
+    }
+
+    private static int[][] legalMoveTable(int size) {
+        // Built once per board size from the border checks of isValidMove
+        return legalMoveTables.computeIfAbsent(size, key -> {
+            int[][] table = new int[size * size][];
+            for (int position = 0; position < size * size; position++) {
+                int row = position / size;
+                int col = position % size;
+                int[] moves = new int[4];
+                int count = 0;
+                if (row > 0) moves[count++] = UP;
+                if (row < size - 1) moves[count++] = DOWN;
+                if (col > 0) moves[count++] = LEFT;
+                if (col < size - 1) moves[count++] = RIGHT;
+                table[position] = Arrays.copyOf(moves, count);
+            }
+            return table;
+        });
+    }
+
+    private static long[] newOverflow(int size, int bitsPerTile) {
+        int words = (size * size * bitsPerTile + 63) / 64;
+        return words > 2 ? new long[words - 2] : null;
     }
 
     public int size() {
@@ -51,15 +111,98 @@ public class Puzzle {
     }
 
     public int[][] getBoard() {
-        // Return a copy of the puzzle board to avoid external modification
-        int size = board.length;
-        int[][] copy = new int[size][];
+        // Unpack a copy of the puzzle board to avoid external modification
+        int[][] copy = new int[size][size];
         for (int i = 0; i < size; i++) {
-            copy[i] = board[i].clone();
+            for (int j = 0; j < size; j++) {
+                copy[i][j] = getTile(i * size + j);
+            }
         }
         return copy;
     }
 
+    public int getTile(int row, int col) {
+        return getTile(row * size + col);
+    }
+
+    public int getTile(int position) {
+        // Read bitsPerTile bits at the position, which may straddle two words
+        int bit = position * bitsPerTile;
+        int word = bit >>> 6;
+        int offset = bit & 63;
+        long value = getWord(word) >>> offset;
+        if (offset + bitsPerTile > 64) {
+            value |= getWord(word + 1) << (64 - offset);
+        }
+        return (int) (value & ((1L << bitsPerTile) - 1));
+    }
+
+    private void setTile(int position, int value) {
+        long mask = (1L << bitsPerTile) - 1;
+        int bit = position * bitsPerTile;
+        int word = bit >>> 6;
+        int offset = bit & 63;
+        setWord(word, (getWord(word) & ~(mask << offset)) | ((long) value << offset));
+        if (offset + bitsPerTile > 64) {
+            int written = 64 - offset;
+            setWord(word + 1, (getWord(word + 1) & ~(mask >>> written)) | ((long) value >>> written));
+        }
+    }
+
+    private long getWord(int word) {
+        switch (word) {
+            case 0:
+                return low;
+            case 1:
+                return high;
+            default:
+                return overflow[word - 2];
+        }
+    }
+
+    private void setWord(int word, long value) {
+        switch (word) {
+            case 0:
+                low = value;
+                break;
+            case 1:
+                high = value;
+                break;
+            default:
+                overflow[word - 2] = value;
+        }
+    }
+
+    private int findTile(int value) {
+        for (int position = 0; position < size * size; position++) {
+            if (getTile(position) == value) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    public int getEmptyRow() {
+        return emptyRow;
+    }
+
+    public int getEmptyCol() {
+        return emptyCol;
+    }
+
+    public boolean hasPackedKey() {
+        // True when low and high alone identify the board (up to the 24-puzzle)
+        return overflow == null;
+    }
+
+    public long getPackedLow() {
+        return low;
+    }
+
+    public long getPackedHigh() {
+        return high;
+    }
+
     private boolean isBoardValid(int[][] board) {
         // Check if the board has the correct size
         if (board.length != size || board[0].length != size) {
@@ -87,20 +230,12 @@ public class Puzzle {
         }
 
         // Check if the permutation is solvable
-        return isSolvable(flatBoard);
+        return isSolvable(size, flatBoard);
     }
 
-    private boolean isSolvable(int[] flatBoard) {
+    static boolean isSolvable(int size, int[] flatBoard) {
         // Helper method to check if the permutation is solvable
-        int inversions = 0;
-
-        for (int i = 0; i < flatBoard.length - 1; i++) {
-            for (int j = i + 1; j < flatBoard.length; j++) {
-                if (flatBoard[i] > flatBoard[j] && flatBoard[i] != 0 && flatBoard[j] != 0) {
-                    inversions++;
-                }
-            }
-        }
+        long inversions = countInversions(flatBoard);
 
         // For a 4x4 board, check the row number of the empty space
         int emptyRow = 0;
@@ -117,23 +252,52 @@ public class Puzzle {
         return (inversions % 2 == 0 && size % 2 == 1) || ((inversions + emptyRow) % 2 == 0 && size % 2 == 0);
     }
 
-    public boolean isBoardSolved() {
-        int count = 1;
+    public boolean isSolvable() {
+        // O(n log n) in the number of cells, through the Fenwick-tree inversion count
+        int[] flatBoard = new int[size * size];
+        for (int position = 0; position < flatBoard.length; position++) {
+            flatBoard[position] = getTile(position);
+        }
+        return isSolvable(size, flatBoard);
+    }
 
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (i == size - 1 && j == size - 1) {
-                    // Check if the last position is empty (0)
-                    if (board[i][j] != 0) {
-                        return false;
-                    }
-                } else {
-                    // Check if the other positions contain consecutive numbers
-                    if (board[i][j] != count) {
-                        return false;
-                    }
-                    count = (count + 1) % (size * size);
-                }
+    public long countTileInversions() {
+        // Pairs of tiles (ignoring the empty space) that appear in reverse order, row by row
+        int[] flatBoard = new int[size * size];
+        for (int position = 0; position < flatBoard.length; position++) {
+            flatBoard[position] = getTile(position);
+        }
+        return countInversions(flatBoard);
+    }
+
+    private static long countInversions(int[] flatBoard) {
+        // O(n log n): a Fenwick tree counts the smaller tiles already seen from the right
+        int[] tree = new int[flatBoard.length + 1];
+        long inversions = 0;
+        for (int i = flatBoard.length - 1; i >= 0; i--) {
+            int value = flatBoard[i];
+            if (value == 0) {
+                continue;
+            }
+            for (int index = value - 1; index > 0; index -= index & -index) {
+                inversions += tree[index];
+            }
+            for (int index = value; index < tree.length; index += index & -index) {
+                tree[index]++;
+            }
+        }
+        return inversions;
+    }
+
+    public boolean isBoardSolved() {
+        // The empty space must be in the last position before any tile is compared
+        if (emptyRow != size - 1 || emptyCol != size - 1) {
+            return false;
+        }
+        for (int position = 0; position < size * size - 1; position++) {
+            // Check if the other positions contain consecutive numbers
+            if (getTile(position) != position + 1) {
+                return false;
             }
         }
         return true;
@@ -142,8 +306,8 @@ public class Puzzle {
     private void initializeBoard(int[][] startingBoard) {
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                board[i][j] = startingBoard[i][j];
-                if (board[i][j] == 0) {
+                setTile(i * size + j, startingBoard[i][j]);
+                if (startingBoard[i][j] == 0) {
                     emptyRow = i;
                     emptyCol = j;
                 }
@@ -153,13 +317,10 @@ public class Puzzle {
 
     private void initializeRandomBoard(int n) {
         // Initialize the board to the solved state
-        int count = 1;
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                board[i][j] = count++;
-            }
+        for (int position = 0; position < size * size - 1; position++) {
+            setTile(position, position + 1);
         }
-        board[size - 1][size - 1] = 0; // Set the last element to 0, representing the empty space
+        setTile(size * size - 1, 0); // Set the last element to 0, representing the empty space
         emptyRow = size - 1;
         emptyCol = size - 1;
 
@@ -170,21 +331,30 @@ public class Puzzle {
     }
 
     private void makeRandomMoves(int n) {
-        Random random = new Random();
-
-        for (int i = 0; i < n; i++) {
-            // Generate a list of valid moves for the current board
-            List<Integer> validMoves = new ArrayList<>();
-            for (int move = 0; move < 4; move++) {
-                if (isValidMove(move)) {
-                    validMoves.add(move);
-                }
-            }
+        // Unseeded; PuzzleGenerator makes reproducible instances
+        scramble(n, ThreadLocalRandom.current());
+    }
 
-            // Randomly select a move from the list of valid moves
-            if (!validMoves.isEmpty()) {
-                int randomMove = validMoves.get(random.nextInt(validMoves.size()));
-                performMove(randomMove);
+    public void scramble(int moves, RandomGenerator random) {
+        // Random walk of exactly this many moves that never undoes the move before it, picked from the shared
+        // legal-move table so no step allocates
+        int previousMove = -1;
+        for (int i = 0; i < moves; i++) {
+            int[] legalMoves = getLegalMoves();
+            if (legalMoves.length == 0) {
+                return; // A 1x1 board has no moves
+            }
+            int backMove = previousMove == -1 ? -1 : oppositeMove(previousMove);
+            int choice = random.nextInt(backMove == -1 ? legalMoves.length : legalMoves.length - 1);
+            for (int move : legalMoves) {
+                if (move == backMove) {
+                    continue;
+                }
+                if (choice-- == 0) {
+                    applyMove(move);
+                    previousMove = move;
+                    break;
+                }
             }
         }
     }
@@ -206,58 +376,77 @@ public class Puzzle {
     }
 
     public int performMove(int move) {
-        int movedTile = -1; // This will hold the number which is moved
-        switch (move) {
-            case UP:
-                if (emptyRow > 0) {
-                    movedTile = board[emptyRow - 1][emptyCol];
-                    swap(emptyRow, emptyCol, emptyRow - 1, emptyCol);
-                    emptyRow--;
-                }
-                break;
-            case DOWN:
-                if (emptyRow < size - 1) {
-                    movedTile = board[emptyRow + 1][emptyCol];
-                    swap(emptyRow, emptyCol, emptyRow + 1, emptyCol);
-                    emptyRow++;
-                }
-                break;
-            case LEFT:
-                if (emptyCol > 0) {
-                    movedTile = board[emptyRow][emptyCol - 1];
-                    swap(emptyRow, emptyCol, emptyRow, emptyCol - 1);
-                    emptyCol--;
-                }
-                break;
-            case RIGHT:
-                if (emptyCol < size - 1) {
-                    movedTile = board[emptyRow][emptyCol + 1];
-                    swap(emptyRow, emptyCol, emptyRow, emptyCol + 1);
-                    emptyCol++;
-                }
-                break;
-            default:
-                System.out.println("Invalid move. Please use 0 (Up), 1 (Down), 2 (Left), or 3 (Right).");
+        // Validated move; returns the tile that moved, or -1 when the move is not possible
+        if (move < UP || move > RIGHT) {
+            System.out.println("Invalid move. Please use 0 (Up), 1 (Down), 2 (Left), or 3 (Right).");
+            return -1;
         }
+        if (!isValidMove(move)) {
+            return -1;
+        }
+        return applyMove(move);
+    }
+
+    public int applyMove(int move) {
+        // In-place move without validation: the move must be one of getLegalMoves()
+        int emptyPosition = emptyRow * size + emptyCol;
+        int tilePosition = emptyPosition + rowOffset(move) * size + colOffset(move);
+        int movedTile = getTile(tilePosition);
+        setTile(emptyPosition, movedTile);
+        setTile(tilePosition, 0);
+        emptyRow += rowOffset(move);
+        emptyCol += colOffset(move);
         return movedTile; // Return the tile that moved
     }
-    
-    private void swap(int row1, int col1, int row2, int col2) {
-        int temp = board[row1][col1];
-        board[row1][col1] = board[row2][col2];
-        board[row2][col2] = temp;
+
+    public void undoMove(int move) {
+        applyMove(oppositeMove(move));
+    }
+
+    public int[] getLegalMoves() {
+        // Shared table row for the current empty position; callers must not modify it
+        return legalMoves[emptyRow * size + emptyCol];
+    }
+
+    public void forEachSuccessor(int previousMove, SuccessorVisitor visitor) {
+        // Visit each child in place, skipping the move that undoes previousMove (-1 for none). The visitor sees
+        // this board with the move applied and must copy it to keep it; the move is undone afterwards
+        for (int move : getLegalMoves()) {
+            if (previousMove != -1 && move == oppositeMove(previousMove)) {
+                continue;
+            }
+            int movedTile = applyMove(move);
+            visitor.visit(this, move, movedTile);
+            undoMove(move);
+        }
+    }
+
+    public interface SuccessorVisitor {
+        void visit(Puzzle successor, int move, int movedTile);
+    }
+
+    public static int oppositeMove(int move) {
+        // Performing the opposite move undoes a move in place
+        return move ^ 1;
+    }
+
+    public static int rowOffset(int move) {
+        // Row change of the empty space; the moved tile shifts the other way
+        return move == UP ? -1 : move == DOWN ? 1 : 0;
+    }
+
+    public static int colOffset(int move) {
+        // Column change of the empty space; the moved tile shifts the other way
+        return move == LEFT ? -1 : move == RIGHT ? 1 : 0;
     }
 
     public List<PuzzleMovePair> generatePossibleMoves() {
+        // Allocates a copy per child; searches use forEachSuccessor or applyMove/undoMove instead
         List<PuzzleMovePair> possibleMoves = new ArrayList<>();
-        for (int move = 0; move < 4; move++) {
-            if (isValidMove(move)) {
-                Puzzle nextPuzzle = new Puzzle(this);
-                int movedTile = nextPuzzle.performMove(move);
-                if (movedTile != -1) {
-                    possibleMoves.add(new PuzzleMovePair(nextPuzzle, movedTile));
-                }
-            }
+        for (int move : getLegalMoves()) {
+            Puzzle nextPuzzle = new Puzzle(this);
+            int movedTile = nextPuzzle.applyMove(move);
+            possibleMoves.add(new PuzzleMovePair(nextPuzzle, movedTile, move));
         }
         return possibleMoves;
     }
@@ -266,26 +455,22 @@ public class Puzzle {
     public class PuzzleMovePair {
     public Puzzle puzzle;
     public int movedTile;
+    public int move;
 
-    public PuzzleMovePair(Puzzle puzzle, int movedTile) {
+    public PuzzleMovePair(Puzzle puzzle, int movedTile, int move) {
         this.puzzle = puzzle;
         this.movedTile = movedTile;
+        this.move = move;
     }
 }
 
     public int[] getGoalCoordinates(int value) {
-        int res = 0;
+        // Tile v belongs at row-major position v - 1 and the empty space in the last cell
         if (value == 0) return new int[] {size-1,size-1};
-
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                res++;
-                if (res == value) {
-                    return new int[] { i, j };
-                }
-            }
+        if (value < 0 || value >= size * size) {
+            return null;
         }
-        return null;
+        return new int[] { (value - 1) / size, (value - 1) % size };
     }
 
     @Override
@@ -293,7 +478,7 @@ public class Puzzle {
         StringBuilder builder = new StringBuilder();
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                builder.append(String.format("%2d ", board[i][j]));
+                builder.append(String.format("%2d ", getTile(i, j)));
             }
             builder.append("\n");
         }
@@ -302,25 +487,27 @@ public class Puzzle {
     
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + size;
-        result = prime * result + Arrays.deepHashCode(board);
-        return result;
+        // Mix the packed words so that nearby boards spread over the hash table
+        long hash = (low * 0x9E3779B97F4A7C15L) ^ (high * 0xC2B2AE3D27D4EB4FL) ^ size;
+        if (overflow != null) {
+            hash = hash * 31 + Arrays.hashCode(overflow);
+        }
+        return (int) (hash ^ (hash >>> 32));
     }
 
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
             return true;
-        if (obj == null)
-            return false;
-        if (getClass() != obj.getClass())
+        // Subclasses only fix the size, so a FifteenPuzzle equals a Puzzle with the same board
+        if (!(obj instanceof Puzzle))
             return false;
         Puzzle other = (Puzzle) obj;
         if (size != other.size)
             return false;
-        if (!Arrays.deepEquals(board, other.board))
+        if (low != other.low || high != other.high)
+            return false;
+        if (!Arrays.equals(overflow, other.overflow))
             return false;
         return true;
     }
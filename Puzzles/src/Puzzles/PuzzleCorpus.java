@@ -0,0 +1,204 @@
+package Puzzles;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class PuzzleCorpus implements Closeable {
+    // A file of packed boards with room for one result per board, so a set of instances can be solved again and
+    // again and the runs compared. The file is memory-mapped and read through index-based accessors, so going
+    // over every record allocates nothing; only getPuzzle builds an object
+    private static final int MAGIC = 0x505A4350; // "PZCP"
+    private static final int VERSION = 1;
+    // Header: magic, version, board size, spare int, record count, 8 spare bytes
+    private static final int HEADER_BYTES = 32;
+    // Record: packed high and low words, solution length, spare int, expanded nodes, elapsed nanoseconds
+    private static final int RECORD_BYTES = 40;
+    public static final int NO_RESULT = -1; // Solution length and counters of a board not solved yet
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final long count;
+
+    private PuzzleCorpus(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+        if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IllegalArgumentException("Not a puzzle corpus: " + file);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        this.size = buffer.getInt(8);
+        this.count = buffer.getLong(16);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || fileSize != HEADER_BYTES + RECORD_BYTES * count) {
+            channel.close();
+            throw new IllegalArgumentException("Not a puzzle corpus: " + file);
+        }
+    }
+
+    public static PuzzleCorpus open(Path file) {
+        try {
+            return new PuzzleCorpus(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the corpus " + file, e);
+        }
+    }
+
+    public static long write(Path file, int size, Iterable<? extends Puzzle> puzzles) {
+        // Writes a new corpus with no results yet; returns the number of boards
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        long count = 0;
+        try (FileChannel output = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            output.position(HEADER_BYTES);
+            for (Puzzle puzzle : puzzles) {
+                if (puzzle.size() != size || !puzzle.hasPackedKey()) {
+                    throw new IllegalArgumentException("Corpus boards must all be " + size + "x" + size
+                            + " and fit the packed key");
+                }
+                record.clear();
+                record.putLong(puzzle.getPackedHigh()).putLong(puzzle.getPackedLow());
+                record.putInt(NO_RESULT).putInt(0).putLong(NO_RESULT).putLong(NO_RESULT);
+                record.flip();
+                while (record.hasRemaining()) {
+                    output.write(record);
+                }
+                count++;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(0).putLong(count).putLong(0);
+            header.flip();
+            output.position(0);
+            while (header.hasRemaining()) {
+                output.write(header);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the corpus " + file, e);
+        }
+        return count;
+    }
+
+    public static long importText(Path textFile, Path file, int size, boolean blankFirstGoal) {
+        // One board per line, tiles in row-major order with 0 for the empty space, optionally preceded by an
+        // instance number. Blank lines and lines starting with # are skipped. With blankFirstGoal the boards use
+        // the convention whose goal has the empty space first (as in Korf's 100 instances); they are rotated by
+        // 180 degrees and relabelled (tile t becomes size * size - t), which keeps every optimal length
+        List<Puzzle> puzzles = new ArrayList<>();
+        int cells = size * size;
+        try (BufferedReader reader = Files.newBufferedReader(textFile)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                if (fields.length != cells && fields.length != cells + 1) {
+                    throw new IllegalArgumentException("Line " + lineNumber + " of " + textFile + " has "
+                            + fields.length + " numbers, expected " + cells);
+                }
+                int first = fields.length - cells;
+                int[][] board = new int[size][size];
+                for (int position = 0; position < cells; position++) {
+                    int tile = Integer.parseInt(fields[first + position]);
+                    int target = position;
+                    if (blankFirstGoal) {
+                        target = cells - 1 - position;
+                        tile = tile == 0 ? 0 : cells - tile;
+                    }
+                    board[target / size][target % size] = tile;
+                }
+                puzzles.add(new Puzzle(size, board));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + textFile, e);
+        }
+        return write(file, size, puzzles);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getPackedHigh(long index) {
+        return buffer.getLong(offset(index));
+    }
+
+    public long getPackedLow(long index) {
+        return buffer.getLong(offset(index) + 8);
+    }
+
+    public Puzzle getPuzzle(long index) {
+        int offset = offset(index);
+        return Puzzle.fromPackedKey(size, buffer.getLong(offset + 8), buffer.getLong(offset));
+    }
+
+    public boolean hasResult(long index) {
+        return getSolutionLength(index) != NO_RESULT;
+    }
+
+    public int getSolutionLength(long index) {
+        return buffer.getInt(offset(index) + 16);
+    }
+
+    public long getExpandedNodes(long index) {
+        return buffer.getLong(offset(index) + 24);
+    }
+
+    public long getElapsedTime(long index) {
+        // Nanoseconds
+        return buffer.getLong(offset(index) + 32);
+    }
+
+    public void setResult(long index, SolutionOutput solution) {
+        // A null solution is recorded as no result
+        if (solution == null) {
+            setResult(index, NO_RESULT, NO_RESULT, NO_RESULT);
+            return;
+        }
+        SearchStatistics statistics = solution.getStatistics();
+        setResult(index, solution.getNumOfMovements(),
+                statistics == null ? NO_RESULT : statistics.getExpandedNodes(), solution.getElapsedTime());
+    }
+
+    public void setResult(long index, int solutionLength, long expandedNodes, long elapsedTime) {
+        int offset = offset(index);
+        buffer.putInt(offset + 16, solutionLength);
+        buffer.putLong(offset + 24, expandedNodes);
+        buffer.putLong(offset + 32, elapsedTime);
+    }
+
+    private int offset(long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + count);
+        }
+        return (int) (HEADER_BYTES + RECORD_BYTES * index);
+    }
+
+    @Override
+    public void close() {
+        // Results are written back to the file
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the corpus", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package Puzzles;
+
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public class PuzzleGenerator {
+    // Reproducible instances: the i-th puzzle depends only on the seed and i, never on how many puzzles were made
+    // before it or on which thread, so sequential and parallel streams produce the same boards
+
+    private final long seed;
+
+    public PuzzleGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Puzzle uniformPuzzle(int size, long index) {
+        // Every solvable board is equally likely: shuffle all cells, then swap two tiles if the result is
+        // unsolvable. The swap pairs each unsolvable board with exactly one solvable board
+        SplittableRandom random = randomFor(index);
+        int[] cells = new int[size * size];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+        }
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int cell = cells[i];
+            cells[i] = cells[j];
+            cells[j] = cell;
+        }
+        if (!Puzzle.isSolvable(size, cells)) {
+            // The first two cells holding tiles, skipping the empty space
+            int first = cells[0] != 0 ? 0 : 1;
+            int second = cells[first + 1] != 0 ? first + 1 : first + 2;
+            int cell = cells[first];
+            cells[first] = cells[second];
+            cells[second] = cell;
+        }
+        return new Puzzle(size, toBoard(size, cells));
+    }
+
+    public Puzzle randomWalk(int size, int moves, long index) {
+        // Exactly this many moves from the solved board, none of which undoes the one before it
+        Puzzle puzzle = new Puzzle(size, 0);
+        puzzle.scramble(moves, randomFor(index));
+        return puzzle;
+    }
+
+    public Stream<Puzzle> uniformPuzzles(int size, long count) {
+        // Lazily generated; the index range splits evenly for parallel streams
+        return LongStream.range(0, count).mapToObj(index -> uniformPuzzle(size, index));
+    }
+
+    public Stream<Puzzle> randomWalks(int size, int moves, long count) {
+        return LongStream.range(0, count).mapToObj(index -> randomWalk(size, moves, index));
+    }
+
+    SplittableRandom randomFor(long index) {
+        // Seeds spaced by a fixed step would be the same sequence shifted by whole draws whenever the step is
+        // SplittableRandom's own increment, so the index is mixed in instead
+        return new SplittableRandom(mix64(seed ^ mix64(index)));
+    }
+
+    private static long mix64(long z) {
+        // SplitMix64 finalizer: every input bit affects every output bit
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int[][] toBoard(int size, int[] cells) {
+        int[][] board = new int[size][size];
+        for (int i = 0; i < cells.length; i++) {
+            board[i / size][i % size] = cells[i];
+        }
+        return board;
+    }
+}
@@ -0,0 +1,39 @@
+package Puzzles;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("puzzles.Search")
+@Label("Puzzle Search")
+@Category("Puzzles")
+@Description("One solver run and the counters it collected")
+class SearchEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Expanded Nodes")
+    long expandedNodes;
+
+    @Label("Generated Nodes")
+    long generatedNodes;
+
+    @Label("Duplicate Nodes")
+    long duplicateNodes;
+
+    @Label("Peak Open List Size")
+    long peakOpenListSize;
+
+    @Label("Peak Closed Set Size")
+    long peakClosedSetSize;
+
+    @Label("Heuristic Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long heuristicNanos;
+
+    @Label("Solution Length")
+    int solutionLength;
+}
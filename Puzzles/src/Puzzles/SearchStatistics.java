@@ -0,0 +1,122 @@
+package Puzzles;
+
+public class SearchStatistics {
+    // Counters collected by one search; not thread-safe, parallel searches merge one instance per worker
+    private final String algorithm;
+    private final SearchEvent event;
+    private long expandedNodes;
+    private long generatedNodes;
+    private long duplicateNodes;
+    private long peakOpenListSize;
+    private long peakClosedSetSize;
+    private long heuristicNanos;
+    // Timing the heuristic costs two clock reads per generated node, more than an incremental update itself, so
+    // it is off unless enabled with -Dpuzzles.timeHeuristic=true or setHeuristicTiming
+    private static volatile boolean heuristicTiming = Boolean.getBoolean("puzzles.timeHeuristic");
+    private final boolean timeHeuristic;
+
+    public SearchStatistics(String algorithm) {
+        this.algorithm = algorithm;
+        this.timeHeuristic = heuristicTiming;
+        // The Flight Recorder event spans the whole search; it costs nothing unless a recording enables it
+        this.event = new SearchEvent();
+        event.begin();
+    }
+
+    public void nodeExpanded() {
+        expandedNodes++;
+    }
+
+    public void nodeGenerated() {
+        generatedNodes++;
+    }
+
+    public void duplicateFound() {
+        duplicateNodes++;
+    }
+
+    public void openListSize(long size) {
+        peakOpenListSize = Math.max(peakOpenListSize, size);
+    }
+
+    public void closedSetSize(long size) {
+        peakClosedSetSize = Math.max(peakClosedSetSize, size);
+    }
+
+    public static void setHeuristicTiming(boolean enabled) {
+        // Applies to searches started afterwards
+        heuristicTiming = enabled;
+    }
+
+    public long startHeuristicTimer() {
+        return timeHeuristic ? System.nanoTime() : 0;
+    }
+
+    public void stopHeuristicTimer(long startTime) {
+        if (timeHeuristic) {
+            heuristicNanos += System.nanoTime() - startTime;
+        }
+    }
+
+    public void merge(SearchStatistics other) {
+        // Peaks of separate workers are added, which bounds the combined peak from above
+        expandedNodes += other.expandedNodes;
+        generatedNodes += other.generatedNodes;
+        duplicateNodes += other.duplicateNodes;
+        peakOpenListSize += other.peakOpenListSize;
+        peakClosedSetSize += other.peakClosedSetSize;
+        heuristicNanos += other.heuristicNanos;
+    }
+
+    public void commitEvent(int solutionLength) {
+        // solutionLength is -1 when the search found no solution
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.expandedNodes = expandedNodes;
+            event.generatedNodes = generatedNodes;
+            event.duplicateNodes = duplicateNodes;
+            event.peakOpenListSize = peakOpenListSize;
+            event.peakClosedSetSize = peakClosedSetSize;
+            event.heuristicNanos = heuristicNanos;
+            event.solutionLength = solutionLength;
+            event.commit();
+        }
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    public long getGeneratedNodes() {
+        return generatedNodes;
+    }
+
+    public long getDuplicateNodes() {
+        return duplicateNodes;
+    }
+
+    public long getPeakOpenListSize() {
+        return peakOpenListSize;
+    }
+
+    public long getPeakClosedSetSize() {
+        return peakClosedSetSize;
+    }
+
+    public boolean isHeuristicTimed() {
+        return timeHeuristic;
+    }
+
+    public long getHeuristicNanos() {
+        return heuristicNanos;
+    }
+
+    public double getNodesPerSecond(long elapsedTime) {
+        return elapsedTime == 0 ? 0 : expandedNodes * 1e9 / elapsedTime;
+    }
+}
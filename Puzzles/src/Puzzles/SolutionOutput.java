@@ -1,66 +1,98 @@
     package Puzzles;
 
+    import java.io.BufferedWriter;
+    import java.io.OutputStreamWriter;
+    import java.io.PrintStream;
+    import java.io.PrintWriter;
     import java.text.DecimalFormat;
     import java.util.concurrent.TimeUnit;
+    import java.util.function.Consumer;
     import java.util.*;
 
     import Graph.Graph;
-import Graph.Vertex;
 
     public class SolutionOutput {
-        private final Graph graph;
+        // A solution is kept as its start board and one byte per move; the boards along the path are only
+        // rebuilt when they are printed or asked for, so thousands of solutions cost a few bytes per move
+        private final Graph graph; // Only set when the solver was asked to record the explored graph
+        private final int numOfVertices;
         private final long elapsedTime;
-        private final List<Integer> path;
-        private final List<Puzzle> movementsList;
+        private final Puzzle start;
+        private final byte[] moves;
+        private final SearchStatistics statistics; // Null when the solver collected none
 
-        public SolutionOutput(Graph graph, long startTime, int solutionVertexId, Map<Integer, Puzzle> states) {
+        public SolutionOutput(long startTime, Puzzle start, List<Integer> moves, int numOfVertices) {
+            this(startTime, start, moves, numOfVertices, null);
+        }
+
+        public SolutionOutput(long startTime, Puzzle start, List<Integer> moves, int numOfVertices, Graph graph) {
+            this(startTime, start, moves, numOfVertices, graph, null);
+        }
+
+        public SolutionOutput(long startTime, Puzzle start, List<Integer> moves, int numOfVertices, Graph graph,
+                SearchStatistics statistics) {
+            // The explored graph is only kept when it was recorded
             this.graph = graph;
-        
+            this.numOfVertices = numOfVertices;
+            this.statistics = statistics;
+
             // Elapsed Time
             long endTime = System.nanoTime();
             this.elapsedTime = endTime - startTime;
-        
-            // Initialize the path list here to ensure it's always set
-            this.path = new ArrayList<>();
-        
-            // Collect path from solution to start
-            List<Integer> temporaryPath = new ArrayList<>();
-            int currentId = solutionVertexId;
-            while (currentId != -1) {
-                temporaryPath.add(currentId);
-                Vertex currentVertex = this.graph.findVertexById(currentId);
-                currentId = currentVertex.getPredecessor() != null ? currentVertex.getPredecessor().ID : -1;
-            }
-        
-            // Reverse the temporary path to display from start to solution
-            Collections.reverse(temporaryPath);
-        
-            // Build movements list in the correct order and set path
-            this.movementsList = new ArrayList<>();
-            for (int vertexId : temporaryPath) {
-                this.movementsList.add(states.get(vertexId));
-                this.path.add(vertexId); // Set the path with the correct order
+
+            // Replay the moves once on a scratch board so an invalid sequence is rejected here, not when printing
+            this.start = new Puzzle(start);
+            this.moves = new byte[moves.size()];
+            Puzzle current = new Puzzle(start);
+            int step = 0;
+            for (int move : moves) {
+                if (move < Puzzle.UP || move > Puzzle.RIGHT || current.performMove(move) == -1) {
+                    throw new IllegalArgumentException("Move " + step + " (" + move + ") is not possible");
+                }
+                this.moves[step++] = (byte) move;
             }
         }
-                                
+
         public void print(TimeUnit timeUnit) {
-            // Print solution information
-            StringBuilder sb = new StringBuilder();
-            sb.append("Vertices in the Graph: " + getFormattedNumber(graph.getVertexCount()) + "\n");
-            sb.append("Time: " + getElapsedTime(timeUnit, elapsedTime) + " " + timeUnit.name().toLowerCase() + "\n");
-            
-            // Print the path in correct order by showing puzzle states from start to solution
-            sb.append("Solution path:\n");
-            for (int i = 0; i < movementsList.size(); i++) {
-                sb.append("Step " + (i + 1) + ":\n");
-                sb.append(movementsList.get(i) + "\n"); // Assuming Puzzle.toString() gives a readable state
+            print(timeUnit, System.out);
+        }
+
+        public void print(TimeUnit timeUnit, PrintStream output) {
+            // Streamed step by step, so printing a long solution never holds all of its text at once
+            PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(output)));
+            out.println("Vertices in the Graph: " + getFormattedNumber(numOfVertices));
+            out.println("Time: " + getElapsedTime(timeUnit, elapsedTime) + " " + timeUnit.name().toLowerCase());
+            if (statistics != null) {
+                out.println("Expanded: " + getFormattedNumber(statistics.getExpandedNodes())
+                        + ", generated: " + getFormattedNumber(statistics.getGeneratedNodes())
+                        + ", duplicates: " + getFormattedNumber(statistics.getDuplicateNodes()));
+                out.println("Peak open list: " + getFormattedNumber(statistics.getPeakOpenListSize())
+                        + ", peak closed set: " + getFormattedNumber(statistics.getPeakClosedSetSize()));
+                String heuristicTime = statistics.isHeuristicTimed()
+                        ? getElapsedTime(timeUnit, statistics.getHeuristicNanos()) + " " + timeUnit.name().toLowerCase()
+                        : "not measured";
+                out.println("Heuristic time: " + heuristicTime + ", nodes/second: "
+                        + getFormattedNumber(Math.round(getNodesPerSecond())));
             }
-            
-            sb.append("Number of movements to solution: " + (path.size() - 1) + "\n");
-            System.out.println(sb.toString());
+
+            // Print the path in correct order by showing puzzle states from start to solution
+            out.println("Solution path:");
+            printSteps(out);
+
+            out.println("Number of movements to solution: " + getNumOfMovements());
+            out.println();
+            out.flush();
+        }
+
+        private void printSteps(PrintWriter out) {
+            int[] step = { 0 };
+            forEachState(state -> {
+                out.println("Step " + (++step[0]) + ":");
+                out.println(state);
+            });
         }
                 
-        public static String getFormattedNumber(int number) {
+        public static String getFormattedNumber(long number) {
             // Create a DecimalFormat
             DecimalFormat decimalFormat = new DecimalFormat("#,###");
             String formattedNumber = decimalFormat.format(number);
@@ -88,22 +120,63 @@ import Graph.Vertex;
         }
 
         public int getNumOfVertices() {
-            return graph.getVertexCount();
+            return numOfVertices;
         }
 
         public long getElapsedTime() {
             return elapsedTime;
         }
 
+        public SearchStatistics getStatistics() {
+            return statistics;
+        }
+
+        public double getNodesPerSecond() {
+            // Expanded nodes per second of wall-clock time
+            return statistics == null ? 0 : statistics.getNodesPerSecond(elapsedTime);
+        }
+
         public int getNumOfMovements() {
-            return path.size() - 1;
+            return moves.length;
         }
 
-        public void printMovesToSolution() {
-            System.out.println("Moves to Solution:\n");
-            for (int i = 0; i < movementsList.size(); i++) {
-                System.out.println("Step " + (i + 1) + ":");
-                System.out.println(movementsList.get(i));
+        public Puzzle getStart() {
+            return new Puzzle(start);
+        }
+
+        public byte[] getMoves() {
+            // Moves of the empty space (Puzzle.UP, DOWN, LEFT or RIGHT), one per step
+            return moves.clone();
+        }
+
+        public Puzzle getState(int step) {
+            // Board after the given number of moves, rebuilt from the start board
+            if (step < 0 || step > moves.length) {
+                throw new IndexOutOfBoundsException("Step " + step + " of " + moves.length);
+            }
+            Puzzle state = new Puzzle(start);
+            for (int i = 0; i < step; i++) {
+                state.applyMove(moves[i]);
+            }
+            return state;
+        }
+
+        public void forEachState(Consumer<Puzzle> action) {
+            // Visits the start board and the board after every move; the same board is moved in place between
+            // calls, so the action must copy it to keep it
+            Puzzle state = new Puzzle(start);
+            action.accept(state);
+            for (byte move : moves) {
+                state.applyMove(move);
+                action.accept(state);
             }
         }
+
+        public void printMovesToSolution() {
+            PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+            out.println("Moves to Solution:");
+            out.println();
+            printSteps(out);
+            out.flush();
+        }
     }